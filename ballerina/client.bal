@@ -79,6 +79,39 @@ public isolated client class Client {
         'class: "io.ballerina.lib.ldap.Client"
     } external;
 
+    # Updates the values of the attributes of an entry in a directory server. Unlike `modify`, which replaces all
+    # the values of the given attributes, only the given values are added or removed.
+    # 
+    # ```ballerina
+    # ldap:LdapResponse result = check ldapClient->modifyAttributes(groupDN, [
+    #   {attributeName: "member", modificationType: ldap:ADD_VALUES, values: userDN}
+    # ]);
+    # ```
+    # 
+    # + dN - The distinguished name of the entry
+    # + modifications - The modifications to apply, in the given order
+    # + return - A `ldap:Error` if the operation fails or `ldap:LdapResponse` if successfully updated
+    remote isolated function modifyAttributes(string dN, Modification[] modifications)
+        returns LdapResponse|Error = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
+    # Updates an entry in a directory server to match the given information. The current values of the given
+    # attributes are retrieved, and only the values that differ are added or removed. The attributes that are not
+    # given are not changed.
+    # 
+    # ```ballerina
+    # ldap:LdapResponse? result = check ldapClient->modifyToMatch(userDN, {"sn": "User", "mail": "user@gmail.com"});
+    # ```
+    # 
+    # + dN - The distinguished name of the entry
+    # + entry - The desired information of the entry
+    # + return - A `ldap:Error` if the operation fails, `ldap:LdapResponse` if successfully updated, or `()` if
+    #            the entry already matches the given information and no update was sent
+    remote isolated function modifyToMatch(string dN, Entry entry) returns LdapResponse|Error? = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
     # Renames an entry in a directory server.
     # 
     # ```ballerina
@@ -94,6 +127,89 @@ public isolated client class Client {
         'class: "io.ballerina.lib.ldap.Client"
     } external;
 
+    # Creates multiple entries in a directory server. The entries are sent without waiting for the response
+    # of an entry before sending the next one.
+    # 
+    # ```ballerina
+    # (ldap:LdapResponse|ldap:Error)[] results = ldapClient->addAll([{dN: userDN, entry: user}]);
+    # ```
+    # 
+    # + operations - The entries to add
+    # + maxOutstandingRequests - The maximum number of entries awaiting a response from the server at a time
+    # + return - The result of each entry, in the order of the given entries
+    remote isolated function addAll(AddOperation[] operations, int maxOutstandingRequests = 100)
+        returns (LdapResponse|Error)[] = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
+    # Updates information of multiple entries. The updates are sent without waiting for the response of an
+    # update before sending the next one.
+    # 
+    # ```ballerina
+    # (ldap:LdapResponse|ldap:Error)[] results = ldapClient->modifyAll([{dN: userDN, entry: {"sn": "User"}}]);
+    # ```
+    # 
+    # + operations - The entries to update with the information to update
+    # + maxOutstandingRequests - The maximum number of updates awaiting a response from the server at a time
+    # + return - The result of each update, in the order of the given updates
+    remote isolated function modifyAll(ModifyOperation[] operations, int maxOutstandingRequests = 100)
+        returns (LdapResponse|Error)[] = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
+    # Removes multiple entries in a directory server. The requests are sent without waiting for the response
+    # of a request before sending the next one.
+    # 
+    # ```ballerina
+    # (ldap:LdapResponse|ldap:Error)[] results = ldapClient->deleteAll([userDN]);
+    # ```
+    # 
+    # + dNs - The distinguished names of the entries to remove
+    # + maxOutstandingRequests - The maximum number of requests awaiting a response from the server at a time
+    # + return - The result of each request, in the order of the given distinguished names
+    remote isolated function deleteAll(string[] dNs, int maxOutstandingRequests = 100)
+        returns (LdapResponse|Error)[] = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
+    # Imports the records of an LDIF file to a directory server. The file is read and parsed concurrently, and
+    # the records are sent without waiting for the response of a record before sending the next one, unless the
+    # record changes the same entry as, or a descendant of, a record awaiting a response. A record that deletes or
+    # renames an entry also waits for the records awaiting a response for the entries of its subtree. A record that
+    # fails is reported in the result, and does not stop the import.
+    # 
+    # ```ballerina
+    # ldap:ImportResult result = check ldapClient->importLdif("resources/users.ldif");
+    # ```
+    # 
+    # + path - The path of the LDIF file
+    # + options - The options of the import
+    # + return - The result of the import, or an `ldap:Error` if the file could not be read
+    remote isolated function importLdif(string path, ImportOptions options = {}) returns ImportResult|Error
+        = @java:Method {
+        'class: "io.ballerina.lib.ldap.LdifImporter"
+    } external;
+
+    # Exports the entries of a subtree of a directory server to a file. The entries are retrieved page by page,
+    # and each entry is written to the file as it is received, so that the entries are not held in memory.
+    # 
+    # ```ballerina
+    # int count = check ldapClient->exportSubtree("dc=mycompany,dc=com", "(objectClass=*)", "export.ldif");
+    # ```
+    # 
+    # + baseDn - The distinguished name of the root entry of the subtree
+    # + filter - The filter that the exported entries should match
+    # + path - The path of the file to which the entries are written. An existing file is overwritten
+    # + format - The format of the file. With `JSON_LINES`, each entry is written as a JSON object with the `dn`
+    #            of the entry and an array of the values of each attribute, where binary values are Base64 encoded
+    # + pageSize - The number of entries retrieved from the server at a time. An `ldap:Error` is returned if this is
+    #              not a positive value
+    # + return - The number of entries exported, or an `ldap:Error` if the operation fails
+    remote isolated function exportSubtree(string baseDn, string filter, string path, ExportFormat format = LDIF,
+                                           int pageSize = 1000) returns int|Error = @java:Method {
+        'class: "io.ballerina.lib.ldap.SubtreeExporter"
+    } external;
+
     # Determines whether a given entry has a specified attribute value.
     # 
     # ```ballerina
@@ -109,6 +225,58 @@ public isolated client class Client {
         'class: "io.ballerina.lib.ldap.Client"
     } external;
 
+    # Retrieves the members of a group, including the members of the nested groups. The nested groups themselves
+    # are not included. The groups of each nesting level are retrieved concurrently, each group is retrieved at
+    # most once, and the members that are not groups are not retrieved. When the server supports the in-chain
+    # matching rule, the members are resolved by the server.
+    # 
+    # ```ballerina
+    # string[] members = check ldapClient->resolveMembers(groupDN);
+    # ```
+    # 
+    # + groupDn - The distinguished name of the group
+    # + maxDepth - The maximum number of nested group levels resolved. The members of a group nested deeper are
+    #              returned without checking whether they are groups. This is ignored when the server supports the
+    #              in-chain matching rule, as the server resolves all the levels
+    # + return - The distinguished names of the members, or an `ldap:Error` if the operation fails. The error has
+    #            the `NO SUCH OBJECT` result code if the group does not exist
+    remote isolated function resolveMembers(string groupDn, int maxDepth = 10) returns string[]|Error = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
+    # Determines whether an entry is a member of a group, either directly or through the nested groups.
+    # 
+    # ```ballerina
+    # boolean isMember = check ldapClient->isMemberOf(userDN, groupDN);
+    # ```
+    # 
+    # + dN - The distinguished name of the entry
+    # + groupDn - The distinguished name of the group
+    # + maxDepth - The maximum number of nested group levels searched for the entry. This is ignored when the
+    #              server supports the in-chain matching rule, as the server searches all the levels
+    # + return - A `boolean` value indicating whether the entry is a member, or an `ldap:Error` if the
+    #            operation fails. The error has the `NO SUCH OBJECT` result code if the group does not exist
+    remote isolated function isMemberOf(string dN, string groupDn, int maxDepth = 10) returns boolean|Error
+        = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
+    # Checks the credentials of a user. The credentials are checked over a separate pool of connections, which are
+    # bound as the user and then bound with the credentials of the client again, so that a new connection is not
+    # established for each check.
+    # 
+    # ```ballerina
+    # boolean authenticated = check ldapClient->authenticate(userDN, "user@123");
+    # ```
+    # 
+    # + dN - The distinguished name of the user
+    # + password - The password of the user
+    # + return - A `boolean` value indicating whether the credentials are valid, or an `ldap:Error` if the
+    #            operation fails
+    remote isolated function authenticate(string dN, string password) returns boolean|Error = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
     # Gets information of an entry.
     # 
     # ```ballerina
@@ -117,12 +285,33 @@ public isolated client class Client {
     # 
     # + dN - The distinguished name of the entry
     # + targetType - Default parameter use to infer the user specified type
+    # + attributes - The attributes to be retrieved. If not provided, only the fields of the target type are
+    #                retrieved when it is a closed record, and all the user attributes are retrieved otherwise
     # + return - An entry result with the given type or else `ldap:Error`
-    remote isolated function getEntry(string dN, typedesc<anydata> targetType = <>)
+    remote isolated function getEntry(string dN, typedesc<anydata> targetType = <>, string[] attributes = [])
         returns targetType|Error = @java:Method {
         'class: "io.ballerina.lib.ldap.Client"
     } external;
 
+    # Gets the entries of the given distinguished names, retrieving them concurrently.
+    # 
+    # ```ballerina
+    # (anydata|ldap:Error)[] entries = ldapClient->getEntries([userDN, adminDN]);
+    # ```
+    # 
+    # + dNs - The distinguished names of the entries
+    # + attributes - The attributes to be retrieved. If not provided, only the fields of the target type are
+    #                retrieved when it is a closed record, and all the user attributes are retrieved otherwise
+    # + maxOutstandingRequests - The maximum number of requests awaiting a response from the server at a time
+    # + targetType - Default parameter use to infer the user specified type
+    # + return - The entry of each distinguished name, or else an `ldap:Error` if the entry could not be
+    #            retrieved, in the order of the given distinguished names
+    remote isolated function getEntries(string[] dNs, string[] attributes = [], int maxOutstandingRequests = 100,
+                                        typedesc<anydata> targetType = <>)
+        returns (targetType|Error)[] = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
     # Returns a list of entries that match the given search parameters.
     # 
     # ```ballerina
@@ -133,9 +322,11 @@ public isolated client class Client {
     # + filter - The filter to be used in the search
     # + scope - The scope of the search
     # + targetType - Default parameter use to infer the user specified type
+    # + attributes - The attributes to be retrieved. If not provided, only the fields of the target type are
+    #                retrieved when it is a closed record, and all the user attributes are retrieved otherwise
     # + return - An array of entries with the given type or else `ldap:Error`
-    remote isolated function searchWithType(string baseDn, string filter, 
-                                            SearchScope scope, typedesc<record{}[]> targetType = <>)
+    remote isolated function searchWithType(string baseDn, string filter, SearchScope scope,
+                                            typedesc<record{}[]> targetType = <>, string[] attributes = [])
         returns targetType|Error = @java:Method {
         'class: "io.ballerina.lib.ldap.Client"
     } external;
@@ -149,12 +340,82 @@ public isolated client class Client {
     # + baseDn - The base distinguished name of the entry
     # + filter - The filter to be used in the search
     # + scope - The scope of the search
+    # + attributes - The attributes to be retrieved. If not provided, all the user attributes are retrieved
     # + return - An `ldap:SearchResult` if successful, or else `ldap:Error`
-    remote isolated function search(string baseDn, string filter, SearchScope scope)
+    remote isolated function search(string baseDn, string filter, SearchScope scope, string[] attributes = [])
         returns SearchResult|Error = @java:Method {
         'class: "io.ballerina.lib.ldap.Client"
     } external;
 
+    # Returns a stream of entries that match the given search parameters. The entries are retrieved from the
+    # server page by page, and a page is requested only when the entries of the previous page are consumed.
+    # An open stream holds a read connection until all the entries are consumed or the stream is closed, so a
+    # stream that is not consumed to the end must be closed to return the connection to the pool.
+    # 
+    # ```ballerina
+    # stream<ldap:Entry, ldap:Error?> entries = ldapClient->searchStream("DC=ldap,DC=com", "(objectClass=person)", ldap:SUB);
+    # ```
+    # 
+    # + baseDn - The base distinguished name of the entry
+    # + filter - The filter to be used in the search
+    # + scope - The scope of the search
+    # + pageSize - The maximum number of entries requested from the server at a time. The stream returns an
+    #              `ldap:Error` if this is not a positive value
+    # + attributes - The attributes to be retrieved. If not provided, all the user attributes are retrieved
+    # + return - A stream of `ldap:Entry` values
+    remote isolated function searchStream(string baseDn, string filter, SearchScope scope, int pageSize = 100,
+                                          string[] attributes = [])
+        returns stream<Entry, Error?> = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
+    # Returns a stream of entries with the given type that match the given search parameters. The entries are
+    # retrieved from the server page by page, and a page is requested only when the entries of the previous page
+    # are consumed. An open stream holds a read connection until all the entries are consumed or the stream is
+    # closed, so a stream that is not consumed to the end must be closed to return the connection to the pool.
+    # 
+    # ```ballerina
+    # stream<Person, ldap:Error?> people = ldapClient->searchStreamWithType("DC=ldap,DC=com", "(objectClass=person)", ldap:SUB);
+    # ```
+    # 
+    # + baseDn - The base distinguished name of the entry
+    # + filter - The filter to be used in the search
+    # + scope - The scope of the search
+    # + pageSize - The maximum number of entries requested from the server at a time. The stream returns an
+    #              `ldap:Error` if this is not a positive value
+    # + attributes - The attributes to be retrieved. If not provided, only the fields of the target type are
+    #                retrieved when it is a closed record, and all the user attributes are retrieved otherwise
+    # + targetType - Default parameter use to infer the user specified type
+    # + return - A stream of entries with the given type
+    remote isolated function searchStreamWithType(string baseDn, string filter, SearchScope scope,
+                                                  int pageSize = 100, string[] attributes = [],
+                                                  typedesc<record {}> targetType = <>)
+        returns stream<targetType, Error?> = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
+    # Returns the statistics of the cache of entries maintained by the client.
+    # 
+    # ```ballerina
+    # ldap:CacheStatistics? statistics = ldapClient.getCacheStatistics();
+    # ```
+    # 
+    # + return - The cache statistics, or `()` if the cache is not configured
+    public isolated function getCacheStatistics() returns CacheStatistics? = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
+    # Returns the metrics collected by the client.
+    # 
+    # ```ballerina
+    # ldap:Metrics? metrics = ldapClient.getMetrics();
+    # ```
+    # 
+    # + return - The metrics, or `()` if the metrics are not collected
+    public isolated function getMetrics() returns Metrics? = @java:Method {
+        'class: "io.ballerina.lib.ldap.Client"
+    } external;
+
     # Unbinds from the server and closes the LDAP connection. 
     # 
     # ```ballerina
@@ -0,0 +1,43 @@
+// Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# The iterator of the streams returned by the `searchStream` and `searchStreamWithType` operations.
+isolated class SearchResultIterator {
+
+    # Returns the next entry of the search.
+    #
+    # + return - The next entry, `()` if there are no more entries, or else an `ldap:Error`
+    public isolated function next() returns record {|record {} value;|}|Error? {
+        record {}|Error? entry = nextEntry(self);
+        if entry is record {} {
+            return {value: entry};
+        }
+        return entry;
+    }
+
+    # Abandons the search and releases the resources held for it.
+    #
+    # + return - An `ldap:Error` if the operation fails
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.ldap.SearchResultIterator"
+    } external;
+}
+
+isolated function nextEntry(SearchResultIterator iterator) returns record {}|Error? = @java:Method {
+    'class: "io.ballerina.lib.ldap.SearchResultIterator"
+} external;
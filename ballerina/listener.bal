@@ -0,0 +1,82 @@
+// Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Represents a listener that delivers the changes made to the entries of a directory server to the attached
+# `ldap:Service` services. A service receives each change through the `onAdd`, `onModify`, `onDelete` or
+# `onModifyDn` remote method, if the method is defined in the service. When the connection is lost or the server
+# ends the persistent search, the listener reconnects with an increasing delay of up to a minute. With the `CHANGELOG`
+# mode, the changes are resumed from the last change delivered, whereas the changes made while a persistent search is
+# not active are not delivered.
+public isolated class Listener {
+
+    # Gets invoked to initialize the `ldap:Listener`.
+    #
+    # + config - The configurations to be used when initializing the listener
+    # + return - A `ldap:Error` if listener initialization failed
+    public isolated function init(*ListenerConfig config) returns Error? {
+        check self.initListener(config);
+    }
+
+    private isolated function initListener(ListenerConfig config) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.ldap.ChangeListener"
+    } external;
+
+    # Attaches a service to the listener.
+    #
+    # + 'service - The service to be notified of the changes
+    # + name - The name of the service
+    # + return - A `ldap:Error` if the service could not be attached
+    public isolated function attach(Service 'service, string[]|string? name = ()) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.ldap.ChangeListener"
+    } external;
+
+    # Detaches a service from the listener.
+    #
+    # + 'service - The service to be detached
+    # + return - A `ldap:Error` if the service could not be detached
+    public isolated function detach(Service 'service) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.ldap.ChangeListener"
+    } external;
+
+    # Connects to the directory server and starts receiving the changes.
+    #
+    # + return - A `ldap:Error` if the listener could not be started
+    public isolated function 'start() returns Error? = @java:Method {
+        name: "start",
+        'class: "io.ballerina.lib.ldap.ChangeListener"
+    } external;
+
+    # Stops receiving the changes, after the changes already received are delivered to the services. The delivery
+    # is awaited for up to 30 seconds, after which the listener is stopped without interrupting the delivery.
+    #
+    # + return - A `ldap:Error` if the listener could not be stopped
+    public isolated function gracefulStop() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.ldap.ChangeListener"
+    } external;
+
+    # Stops receiving the changes immediately.
+    #
+    # + return - A `ldap:Error` if the listener could not be stopped
+    public isolated function immediateStop() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.ldap.ChangeListener"
+    } external;
+}
+
+# Represents a service that is notified of the changes made to the entries of a directory server.
+public type Service distinct service object {
+};
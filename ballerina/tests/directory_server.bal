@@ -0,0 +1,128 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/jballerina.java.arrays as jarrays;
+
+const SERVER_CONFIG_CLASS = "com.unboundid.ldap.listener.InMemoryDirectoryServerConfig";
+const LISTENER_CONFIG_CLASS = "com.unboundid.ldap.listener.InMemoryListenerConfig";
+const SERVER_CLASS = "com.unboundid.ldap.listener.InMemoryDirectoryServer";
+
+# Represents a directory server running within the tests, which provides a changelog unlike the server
+# started for the tests.
+class InMemoryDirectoryServer {
+    private final handle server;
+
+    # Starts a directory server listening on a free port.
+    #
+    # + baseDn - The base distinguished name of the entries held by the server
+    # + bindDn - The distinguished name the clients bind with
+    # + password - The password the clients bind with
+    # + maxChangeLogEntries - The number of changes recorded in the changelog
+    # + enforceSchema - Whether the entries are validated against the standard schema. Otherwise, the entries may
+    #                   contain any attribute, and the values are held as provided by the client
+    # + return - An error if the server could not be started
+    function init(string baseDn, string bindDn, string password, int maxChangeLogEntries = 100,
+            boolean enforceSchema = true) returns error? {
+        handle baseDns = jarrays:newInstance(check java:getClass("java.lang.String"), 1);
+        jarrays:set(baseDns, 0, java:fromString(baseDn));
+        handle config = check newServerConfig(baseDns);
+        check addBindCredentials(config, java:fromString(bindDn), java:fromString(password));
+        setMaxChangeLogEntries(config, maxChangeLogEntries);
+        if !enforceSchema {
+            setSchema(config, java:createNull());
+        }
+        handle listenerConfigs = jarrays:newInstance(check java:getClass(LISTENER_CONFIG_CLASS), 1);
+        jarrays:set(listenerConfigs, 0, check createListenerConfig(java:fromString("LDAP"), 0));
+        check setListenerConfigs(config, listenerConfigs);
+        self.server = check newServer(config);
+        check startListening(self.server);
+    }
+
+    # Returns the port the server is listening on.
+    #
+    # + return - The port of the server
+    function getPort() returns int => getListenPort(self.server);
+
+    # Closes the connections of the clients, while the server keeps accepting new connections.
+    function closeAllConnections() {
+        closeConnections(self.server, false);
+    }
+
+    # Closes the connections of the clients and stops the server.
+    function shutDown() {
+        shutDownServer(self.server, true);
+    }
+}
+
+function newServerConfig(handle baseDns) returns handle|error = @java:Constructor {
+    'class: SERVER_CONFIG_CLASS,
+    paramTypes: [{'class: "java.lang.String", dimensions: 1}]
+} external;
+
+function addBindCredentials(handle config, handle bindDn, handle password) returns error? = @java:Method {
+    name: "addAdditionalBindCredentials",
+    'class: SERVER_CONFIG_CLASS,
+    paramTypes: ["java.lang.String", "java.lang.String"]
+} external;
+
+function setMaxChangeLogEntries(handle config, int maxChangeLogEntries) = @java:Method {
+    'class: SERVER_CONFIG_CLASS,
+    paramTypes: ["int"]
+} external;
+
+function setSchema(handle config, handle schema) = @java:Method {
+    'class: SERVER_CONFIG_CLASS,
+    paramTypes: ["com.unboundid.ldap.sdk.schema.Schema"]
+} external;
+
+function createListenerConfig(handle name, int port) returns handle|error = @java:Method {
+    name: "createLDAPConfig",
+    'class: LISTENER_CONFIG_CLASS,
+    paramTypes: ["java.lang.String", "int"]
+} external;
+
+function setListenerConfigs(handle config, handle listenerConfigs) returns error? = @java:Method {
+    'class: SERVER_CONFIG_CLASS,
+    paramTypes: [{'class: LISTENER_CONFIG_CLASS, dimensions: 1}]
+} external;
+
+function newServer(handle config) returns handle|error = @java:Constructor {
+    'class: SERVER_CLASS,
+    paramTypes: [SERVER_CONFIG_CLASS]
+} external;
+
+function startListening(handle server) returns error? = @java:Method {
+    'class: SERVER_CLASS,
+    paramTypes: []
+} external;
+
+function getListenPort(handle server) returns int = @java:Method {
+    'class: SERVER_CLASS,
+    paramTypes: []
+} external;
+
+function closeConnections(handle server, boolean sendNoticeOfDisconnection) = @java:Method {
+    name: "closeAllConnections",
+    'class: SERVER_CLASS,
+    paramTypes: ["boolean"]
+} external;
+
+function shutDownServer(handle server, boolean closeExistingConnections) = @java:Method {
+    name: "shutDown",
+    'class: SERVER_CLASS,
+    paramTypes: ["boolean"]
+} external;
@@ -14,7 +14,10 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/io;
+import ballerina/lang.runtime;
 import ballerina/test;
+import ballerina/time;
 
 configurable string hostName = ?;
 configurable int port = ?;
@@ -365,3 +368,942 @@ public function testTlsConnectionWithTrustStore() returns error? {
    boolean isConnected = ldapClient->isConnected();
    test:assertTrue(isConnected);
 }
+
+@test:Config {}
+public function testConnectionPool() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      connectionPool: {
+         initialConnections: 2,
+         maxConnections: 4
+      }
+   });
+   test:assertTrue(ldapClient->isConnected());
+
+   LdapResponse response = check ldapClient->add("CN=Pool User,dc=mycompany,dc=com", user);
+   test:assertEquals(response.resultCode, SUCCESS);
+
+   future<boolean|Error>[] comparisons = [];
+   foreach int i in 0 ..< 8 {
+      future<boolean|Error> comparison = start ldapClient->compare("CN=Pool User,dc=mycompany,dc=com", "sn", "Timothy");
+      comparisons.push(comparison);
+   }
+   foreach future<boolean|Error> comparison in comparisons {
+      boolean result = check wait comparison;
+      test:assertTrue(result);
+   }
+
+   LdapResponse delete = check ldapClient->delete("CN=Pool User,dc=mycompany,dc=com");
+   test:assertEquals(delete.resultCode, SUCCESS);
+
+   ldapClient->close();
+   test:assertTrue(!ldapClient->isConnected());
+   LdapResponse|Error closedResponse = ldapClient->delete("CN=Pool User,dc=mycompany,dc=com");
+   test:assertTrue(closedResponse is Error);
+}
+
+@test:Config {}
+public function testReadWriteSplit() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      readReplicas: [{hostName, port}]
+   });
+   LdapResponse response = check ldapClient->add("CN=Replica User,dc=mycompany,dc=com", user);
+   test:assertEquals(response.resultCode, SUCCESS);
+
+   boolean compare = check ldapClient->compare("CN=Replica User,dc=mycompany,dc=com", "sn", "Timothy");
+   test:assertTrue(compare);
+
+   UserConfig[] value = check ldapClient->searchWithType("dc=mycompany,dc=com", "(cn=Replica User)", SUB);
+   test:assertEquals(value.length(), 1);
+
+   LdapResponse delete = check ldapClient->delete("CN=Replica User,dc=mycompany,dc=com");
+   test:assertEquals(delete.resultCode, SUCCESS);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testFailoverServerSet() returns error? {
+   Client ldapClient = check new ({
+      hostName: "localhost",
+      port: 3899,
+      domainName,
+      password,
+      servers: [{hostName, port}],
+      serverSelection: FAILOVER
+   });
+   test:assertTrue(ldapClient->isConnected());
+   boolean compare = check ldapClient->compare("cn=developer,ou=Groups,dc=mycompany,dc=com", "cn", "developer");
+   test:assertTrue(compare);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testSearchStream() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   foreach int i in 1 ... 5 {
+      LdapResponse response = check ldapClient->add(string `CN=Stream User${i},dc=mycompany,dc=com`, user);
+      test:assertEquals(response.resultCode, SUCCESS);
+   }
+
+   stream<Entry, Error?> entries = ldapClient->searchStream("dc=mycompany,dc=com", "(sn=Timothy)", SUB, 2);
+   Entry[] result = check from Entry entry in entries select entry;
+   test:assertEquals(result.length(), 5);
+   test:assertEquals(result[0]["sn"], "Timothy");
+
+   stream<UserConfig, Error?> users = ldapClient->searchStreamWithType("dc=mycompany,dc=com", "(sn=Timothy)", SUB, 2);
+   record {|UserConfig value;|}? first = check users.next();
+   test:assertEquals(first?.value?.sn, "Timothy");
+   check users.close();
+
+   foreach int pageSize in [0, -1, 2147483648] {
+      stream<Entry, Error?> invalidEntries = ldapClient->searchStream("dc=mycompany,dc=com", "(sn=Timothy)", SUB,
+            pageSize);
+      record {|Entry value;|}|Error? next = invalidEntries.next();
+      test:assertTrue(next is Error);
+      test:assertEquals(invalidEntries.next(), ());
+   }
+
+   foreach int i in 1 ... 5 {
+      LdapResponse delete = check ldapClient->delete(string `CN=Stream User${i},dc=mycompany,dc=com`);
+      test:assertEquals(delete.resultCode, SUCCESS);
+   }
+}
+
+@test:Config {}
+public function testSearchWithAttributes() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   SearchResult result = check ldapClient->search("ou=Users,dc=mycompany,dc=com", "(uid=alice)", SUB, ["mail"]);
+   Entry[] entries = <Entry[]>result.entries;
+   test:assertEquals(entries.length(), 1);
+   test:assertEquals(entries[0], {"mail": "alice@gmail.com"});
+
+   record {|string uid; string givenName;|}[] users =
+         check ldapClient->searchWithType("ou=Users,dc=mycompany,dc=com", "(uid=alice)", SUB);
+   test:assertEquals(users, [{uid: "alice", givenName: "Alice"}]);
+
+   record {|string mail;|} alice = check ldapClient->getEntry("uid=alice,ou=Users,dc=mycompany,dc=com");
+   test:assertEquals(alice.mail, "alice@gmail.com");
+}
+
+@test:Config {}
+public function testGetNonExistingEntryResultCode() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   Entry|Error value = ldapClient->getEntry("uid=unknown,ou=Users,dc=mycompany,dc=com");
+   test:assertTrue(value is Error);
+   if value is Error {
+      ErrorDetails errorDetails = value.detail();
+      test:assertEquals(errorDetails.resultCode, NO_SUCH_OBJECT);
+   }
+}
+
+@test:Config {}
+public function testBulkOperations() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   AddOperation[] additions = from int i in 1 ... 10
+      select {dN: string `CN=Bulk User${i},dc=mycompany,dc=com`, entry: user};
+   (LdapResponse|Error)[] addResults = ldapClient->addAll(additions, 4);
+   test:assertEquals(addResults.length(), 10);
+   foreach LdapResponse|Error result in addResults {
+      test:assertEquals((check result).resultCode, SUCCESS);
+   }
+
+   (LdapResponse|Error)[] duplicateResults = ldapClient->addAll([additions[0]]);
+   test:assertTrue(duplicateResults[0] is Error);
+
+   ModifyOperation[] modifications = from AddOperation addition in additions
+      select {dN: addition.dN, entry: {"sn": "Bulk"}};
+   (LdapResponse|Error)[] modifyResults = ldapClient->modifyAll(modifications);
+   foreach LdapResponse|Error result in modifyResults {
+      test:assertEquals((check result).resultCode, SUCCESS);
+   }
+
+   string[] dNs = from AddOperation addition in additions select addition.dN;
+   dNs.push("CN=Non Existing Bulk User,dc=mycompany,dc=com");
+   (LdapResponse|Error)[] deleteResults = ldapClient->deleteAll(dNs);
+   test:assertEquals(deleteResults.length(), 11);
+   foreach int i in 0 ..< 10 {
+      test:assertEquals((check deleteResults[i]).resultCode, SUCCESS);
+   }
+   test:assertTrue(deleteResults[10] is Error);
+}
+
+@test:Config {}
+public function testGetEntries() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   string[] dNs = [
+      "uid=alice,ou=Users,dc=mycompany,dc=com",
+      "uid=unknown,ou=Users,dc=mycompany,dc=com",
+      "uid=ldclakmal,ou=Users,dc=mycompany,dc=com"
+   ];
+   (record {|string uid;|}|Error)[] entries = ldapClient->getEntries(dNs, maxOutstandingRequests = 2);
+   test:assertEquals(entries.length(), 3);
+   test:assertEquals((check entries[0]).uid, "alice");
+   test:assertTrue(entries[1] is Error);
+   test:assertEquals((check entries[2]).uid, "ldclakmal");
+}
+
+@test:Config {}
+public function testEntryCache() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      cache: {
+         capacity: 10,
+         timeToLive: 30
+      },
+      collectMetrics: true
+   });
+   string dN = "CN=Cached User,dc=mycompany,dc=com";
+   _ = check ldapClient->add(dN, user);
+   record {|string sn;|} entry = check ldapClient->getEntry(dN);
+   test:assertEquals(entry.sn, "Timothy");
+   entry = check ldapClient->getEntry(dN);
+   test:assertEquals(entry.sn, "Timothy");
+   test:assertEquals(ldapClient.getCacheStatistics(), {hits: 1, misses: 1, size: 1});
+   OperationMetrics getEntryMetrics = check (<Metrics>ldapClient.getMetrics()).operations["getEntry"].ensureType();
+   test:assertEquals(getEntryMetrics.requests, 2);
+   test:assertEquals(getEntryMetrics.cacheHits, 1);
+   test:assertEquals(getEntryMetrics.serverLatency.count, 1);
+
+   foreach int i in 0 ..< 2 {
+      record {|string sn;|}[] entries = check ldapClient->searchWithType("dc=mycompany,dc=com",
+                                                                         "(cn=Cached User)", SUB);
+      test:assertEquals(entries, [{sn: "Timothy"}]);
+   }
+   OperationMetrics searchMetrics = check (<Metrics>ldapClient.getMetrics()).operations["searchWithType"].ensureType();
+   test:assertEquals(searchMetrics.requests, 2);
+   test:assertEquals(searchMetrics.cacheHits, 1);
+
+   _ = check ldapClient->modify(dN, {"sn": "Cached"});
+   entry = check ldapClient->getEntry(dN);
+   test:assertEquals(entry.sn, "Cached");
+   test:assertEquals(ldapClient.getCacheStatistics(), {hits: 1, misses: 2, size: 1});
+
+   _ = check ldapClient->delete(dN);
+   record {|string sn;|}|Error deletedEntry = ldapClient->getEntry(dN);
+   test:assertTrue(deletedEntry is Error);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testInvalidCacheConfig() {
+   CacheConfig[] invalidConfigs = [{capacity: 0}, {capacity: -1}, {timeToLive: 0}, {notFoundTimeToLive: -1}];
+   foreach CacheConfig cache in invalidConfigs {
+      Client|Error ldapClient = new ({hostName, port, domainName, password, cache});
+      test:assertTrue(ldapClient is Error);
+      if ldapClient is Error {
+         ErrorDetails errorDetails = ldapClient.detail();
+         test:assertEquals(errorDetails.resultCode, "PARAM ERROR");
+      }
+   }
+}
+
+@test:Config {}
+public function testCacheStatisticsWithoutCache() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   test:assertEquals(ldapClient.getCacheStatistics(), ());
+}
+
+@test:Config {}
+public function testNotFoundEntryCache() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      cache: {
+         notFoundTimeToLive: 30
+      }
+   });
+   string dN = "CN=Not Found User,dc=mycompany,dc=com";
+   foreach int i in 0 ..< 2 {
+      Entry|Error entry = ldapClient->getEntry(dN);
+      test:assertTrue(entry is Error);
+      if entry is Error {
+         ErrorDetails errorDetails = entry.detail();
+         test:assertEquals(errorDetails.resultCode, NO_SUCH_OBJECT);
+      }
+   }
+   test:assertEquals(ldapClient.getCacheStatistics(), {hits: 1, misses: 1, size: 1});
+
+   _ = check ldapClient->add(dN, user);
+   Entry entry = check ldapClient->getEntry(dN);
+   test:assertEquals(entry["sn"], "Timothy");
+   _ = check ldapClient->delete(dN);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testNotFoundEntryCacheAfterModifyDn() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      cache: {
+         notFoundTimeToLive: 30
+      }
+   });
+   string dN = "CN=Renamed Cache User,dc=mycompany,dc=com";
+   string newDn = "CN=Renamed Cached User,dc=mycompany,dc=com";
+   _ = check ldapClient->add(dN, user);
+   Entry|Error missingEntry = ldapClient->getEntry(newDn);
+   test:assertTrue(missingEntry is Error);
+
+   _ = check ldapClient->modifyDn(dN, "CN=Renamed Cached User", true);
+   Entry entry = check ldapClient->getEntry(newDn);
+   test:assertEquals(entry["sn"], "Timothy");
+   _ = check ldapClient->delete(newDn);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testCoalescedReads() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      coalesceReads: true,
+      collectMetrics: true
+   });
+   future<SearchResult|Error>[] searches = [];
+   foreach int i in 0 ..< 10 {
+      future<SearchResult|Error> search = start ldapClient->search("ou=Users,dc=mycompany,dc=com", "(uid=alice)", SUB);
+      searches.push(search);
+   }
+   foreach future<SearchResult|Error> search in searches {
+      SearchResult result = check wait search;
+      test:assertEquals(result.resultCode, SUCCESS);
+      test:assertEquals((<Entry[]>result.entries).length(), 1);
+   }
+   OperationMetrics searchMetrics = check (<Metrics>ldapClient.getMetrics()).operations["search"].ensureType();
+   test:assertEquals(searchMetrics.requests, 10);
+   test:assertTrue(searchMetrics.sharedRequests > 0);
+   test:assertEquals(searchMetrics.entriesReturned, 10);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testReadsNotCoalescedByDefault() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      collectMetrics: true
+   });
+   future<SearchResult|Error>[] searches = [];
+   foreach int i in 0 ..< 5 {
+      future<SearchResult|Error> search = start ldapClient->search("ou=Users,dc=mycompany,dc=com", "(uid=alice)", SUB);
+      searches.push(search);
+   }
+   foreach future<SearchResult|Error> search in searches {
+      SearchResult result = check wait search;
+      test:assertEquals(result.resultCode, SUCCESS);
+   }
+   OperationMetrics searchMetrics = check (<Metrics>ldapClient.getMetrics()).operations["search"].ensureType();
+   test:assertEquals(searchMetrics.sharedRequests, 0);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testListenerWithInvalidFilter() {
+   Listener|Error ldapListener = new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      baseDn: "ou=Users,dc=mycompany,dc=com",
+      filter: "(uid=alice"
+   });
+   test:assertTrue(ldapListener is Error);
+}
+
+@test:Config {}
+public function testListenerAttachAndDetach() returns error? {
+   Listener ldapListener = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      baseDn: "ou=Users,dc=mycompany,dc=com",
+      mode: CHANGELOG
+   });
+   Service changeService = service object {
+      remote function onAdd(ChangeEvent event) {
+      }
+   };
+   check ldapListener.attach(changeService);
+   check ldapListener.detach(changeService);
+   check ldapListener.gracefulStop();
+}
+
+@test:Config {}
+public function testListenerDeliversChangelogChanges() returns error? {
+   string baseDn = "dc=mycompany,dc=com";
+   InMemoryDirectoryServer server = check new (baseDn, domainName, password);
+   int serverPort = server.getPort();
+   Client ldapClient = check new ({hostName: "localhost", port: serverPort, domainName, password});
+   _ = check ldapClient->add(baseDn, {"objectClass": ["top", "domain"], "dc": "mycompany"});
+   _ = check ldapClient->add("ou=Users,dc=mycompany,dc=com", {
+      "objectClass": ["top", "organizationalUnit"],
+      "ou": "Users"
+   });
+
+   Listener ldapListener = check new ({
+      hostName: "localhost",
+      port: serverPort,
+      domainName,
+      password,
+      baseDn: "ou=Users,dc=mycompany,dc=com",
+      mode: CHANGELOG,
+      pollingInterval: 0.1
+   });
+   ChangeRecorder recorder = new;
+   Service changeService = service object {
+      remote function onAdd(ChangeEvent event) {
+         recorder.add(event);
+      }
+
+      remote function onModify(ChangeEvent event) {
+         recorder.add(event);
+      }
+
+      remote function onDelete(ChangeEvent event) {
+         recorder.add(event);
+      }
+
+      remote function onModifyDn(ChangeEvent event) {
+         recorder.add(event);
+      }
+   };
+   check ldapListener.attach(changeService);
+   check ldapListener.'start();
+
+   string dN = "uid=listened,ou=Users,dc=mycompany,dc=com";
+   string newDn = "uid=renamed,ou=Users,dc=mycompany,dc=com";
+   _ = check ldapClient->add(dN, {
+      "objectClass": ["top", "person", "organizationalPerson", "inetOrgPerson"],
+      "uid": "listened",
+      "cn": "Listened User",
+      "sn": "User"
+   });
+   _ = check ldapClient->modify(dN, {"sn": "Modified"});
+   _ = check ldapClient->modifyDn(dN, "uid=renamed", true);
+   _ = check ldapClient->delete(newDn);
+   ChangeEvent[] changes = check recorder.waitFor(4);
+   test:assertEquals(changes.map(change => change.changeType), [ADD, MODIFY, MODIFY_DN, DELETE]);
+   test:assertEquals(changes[0].dN, dN);
+   test:assertEquals((<Entry>changes[0].entry)["cn"], "Listened User");
+   test:assertEquals(changes[1].dN, dN);
+   test:assertEquals(changes[2].dN, newDn);
+   test:assertEquals(changes[2].previousDn, dN);
+   test:assertEquals(changes[3].dN, newDn);
+   foreach ChangeEvent change in changes {
+      test:assertTrue(change.changeNumber is int);
+   }
+
+   // The listener reconnects and resumes from the last change delivered once its connection is lost.
+   server.closeAllConnections();
+   Client newClient = check new ({hostName: "localhost", port: serverPort, domainName, password});
+   _ = check newClient->add(dN, {
+      "objectClass": ["top", "person", "organizationalPerson", "inetOrgPerson"],
+      "uid": "listened",
+      "cn": "Listened User",
+      "sn": "User"
+   });
+   changes = check recorder.waitFor(5);
+   test:assertEquals(changes[4].changeType, ADD);
+   test:assertEquals(changes[4].dN, dN);
+
+   check ldapListener.gracefulStop();
+   ldapClient->close();
+   newClient->close();
+   server.shutDown();
+}
+
+isolated class ChangeRecorder {
+   private final ChangeEvent[] changes = [];
+
+   isolated function add(ChangeEvent change) {
+      lock {
+         self.changes.push(change.clone());
+      }
+   }
+
+   isolated function waitFor(int count) returns ChangeEvent[]|error {
+      foreach int i in 0 ..< 100 {
+         lock {
+            if self.changes.length() >= count {
+               return self.changes.clone();
+            }
+         }
+         runtime:sleep(0.1);
+      }
+      return error(string `Expected ${count} changes to be delivered`);
+   }
+}
+
+@test:Config {}
+public function testSearchWithTypeFieldMapping() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   string dN = "uid=mapped,ou=Users,dc=mycompany,dc=com";
+   _ = check ldapClient->add(dN, {
+      "objectClass": ["inetOrgPerson"],
+      "cn": "Mapped User",
+      "sn": "User",
+      "uid": "mapped",
+      "employeeNumber": "1024"
+   });
+   record {|string uid; int employeeNumber; string[] cn; string mail?;|}[] entries =
+         check ldapClient->searchWithType("ou=Users,dc=mycompany,dc=com", "(uid=mapped)", SUB);
+   test:assertEquals(entries.length(), 1);
+   test:assertEquals(entries[0].uid, "mapped");
+   test:assertEquals(entries[0].employeeNumber, 1024);
+   test:assertEquals(entries[0].cn, ["Mapped User"]);
+   test:assertEquals(entries[0].mail, ());
+   _ = check ldapClient->delete(dN);
+
+   record {|string cn; string[] member;|} group = check ldapClient->getEntry("cn=admin,ou=Groups,dc=mycompany,dc=com");
+   test:assertEquals(group.member, ["uid=johndoe,ou=Users,dc=mycompany,dc=com"]);
+}
+
+@test:Config {}
+public function testSearchWithTypeFieldMappingWithCodecs() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      schemaAwareDecoding: true,
+      attributeCodecs: {"employeeNumber": BASE64, "description": BINARY}
+   });
+   string dN = "uid=codec,ou=Users,dc=mycompany,dc=com";
+   _ = check ldapClient->add(dN, {
+      "objectClass": ["inetOrgPerson"],
+      "cn": "Codec User",
+      "sn": "User",
+      "uid": "codec",
+      "employeeNumber": "1024",
+      "description": "Binary description"
+   });
+   record {|string uid; string employeeNumber;|} entry = check ldapClient->getEntry(dN,
+         attributes = ["uid", "employeeNumber"]);
+   test:assertEquals(entry.uid, "codec");
+   test:assertEquals(entry.employeeNumber, "MTAyNA==");
+
+   record {|string description;|}|Error binaryEntry = ldapClient->getEntry(dN, attributes = ["description"]);
+   test:assertTrue(binaryEntry is Error);
+   if binaryEntry is Error {
+      test:assertTrue(binaryEntry.message().includes("cannot be mapped to the field of type 'string'"));
+   }
+   _ = check ldapClient->delete(dN);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testSchemaAwareDecoding() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      schemaAwareDecoding: true
+   });
+   Entry entry = check ldapClient->getEntry("uid=alice,ou=Users,dc=mycompany,dc=com", attributes = ["mail", "createTimestamp"]);
+   test:assertTrue(entry["mail"] is string[]);
+   test:assertTrue(entry["createTimestamp"] is time:Utc);
+
+   SearchResult result = check ldapClient->search("ou=Users,dc=mycompany,dc=com", "(uid=alice)", SUB,
+         ["uid", "createTimestamp"]);
+   Entry[] entries = <Entry[]>result.entries;
+   test:assertEquals(entries[0]["uid"], ["alice"]);
+   test:assertTrue(entries[0]["createTimestamp"] is time:Utc);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testAddTimeAndBooleanAttributes() returns error? {
+   string baseDn = "dc=mycompany,dc=com";
+   InMemoryDirectoryServer server = check new (baseDn, domainName, password, enforceSchema = false);
+   Client ldapClient = check new ({hostName: "localhost", port: server.getPort(), domainName, password});
+   _ = check ldapClient->add(baseDn, {"objectClass": ["top", "domain"], "dc": "mycompany"});
+   string dN = "cn=Typed Values,dc=mycompany,dc=com";
+   _ = check ldapClient->add(dN, {
+      "objectClass": ["top", "extensibleObject"],
+      "cn": "Typed Values",
+      "lastLogin": <time:Utc>[1700000000, 0.5],
+      "loginTimes": <time:Utc[]>[[1700000000, 0], [1700000060, 0.25]],
+      "enabled": true,
+      "flags": <boolean[]>[true, false],
+      "counts": <int[]>[1, 2]
+   });
+   Entry entry = check ldapClient->getEntry(dN);
+   test:assertEquals(entry["lastLogin"], "20231114221320.500Z");
+   test:assertEquals(entry["loginTimes"], ["20231114221320.000Z", "20231114221420.250Z"]);
+   test:assertEquals(entry["enabled"], "TRUE");
+   test:assertEquals(entry["flags"], ["TRUE", "FALSE"]);
+   test:assertEquals(entry["counts"], ["1", "2"]);
+
+   _ = check ldapClient->modify(dN, {"enabled": false, "lastLogin": <time:Utc>[1700000060, 0]});
+   entry = check ldapClient->getEntry(dN);
+   test:assertEquals(entry["enabled"], "FALSE");
+   test:assertEquals(entry["lastLogin"], "20231114221420.000Z");
+   ldapClient->close();
+   server.shutDown();
+}
+
+@test:Config {}
+public function testSearchWithStringAndMalformedIdentifiers() returns error? {
+   string baseDn = "dc=mycompany,dc=com";
+   InMemoryDirectoryServer server = check new (baseDn, domainName, password, enforceSchema = false);
+   Client ldapClient = check new ({hostName: "localhost", port: server.getPort(), domainName, password});
+   _ = check ldapClient->add(baseDn, {"objectClass": ["top", "domain"], "dc": "mycompany"});
+   _ = check ldapClient->add("cn=String Identifiers,dc=mycompany,dc=com", {
+      "objectClass": ["top", "extensibleObject"],
+      "cn": "String Identifiers",
+      "objectGUID": "not-a-binary-guid",
+      "objectSid": "S-1-5-21-1004"
+   });
+   SearchResult result = check ldapClient->search(baseDn, "(cn=String Identifiers)", SUB);
+   Entry[] entries = result.entries ?: [];
+   test:assertEquals(entries.length(), 1);
+   test:assertEquals(entries[0]["objectGUID"], "not-a-binary-guid");
+   test:assertEquals(entries[0]["objectSid"], "S-1-5-21-1004");
+
+   _ = check ldapClient->add("cn=Malformed Identifiers,dc=mycompany,dc=com", {
+      "objectClass": ["top", "extensibleObject"],
+      "cn": "Malformed Identifiers",
+      "objectSid": <byte[]>[0x02, 0x00, 0xff]
+   });
+   SearchResult|Error malformed = ldapClient->search(baseDn, "(cn=Malformed Identifiers)", SUB);
+   test:assertTrue(malformed is Error);
+   ldapClient->close();
+   server.shutDown();
+}
+
+@test:Config {}
+public function testBinaryAttributes() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      binaryAttributes: true
+   });
+   string dN = "uid=binary,ou=Users,dc=mycompany,dc=com";
+   byte[] photo = [0xff, 0xd8, 0xff, 0xe0, 0x00, 0x10];
+   _ = check ldapClient->add(dN, {
+      "objectClass": ["inetOrgPerson"],
+      "cn": "Binary User",
+      "sn": "User",
+      "uid": "binary",
+      "jpegPhoto": photo
+   });
+   Entry entry = check ldapClient->getEntry(dN, attributes = ["jpegPhoto"]);
+   test:assertEquals(entry["jpegPhoto"], photo);
+
+   Client defaultClient = check validateClient(ldap);
+   Entry encodedEntry = check defaultClient->getEntry(dN, attributes = ["jpegPhoto"]);
+   test:assertEquals(encodedEntry["jpegPhoto"], photo.toBase64());
+
+   Client codecClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      binaryAttributes: true,
+      attributeCodecs: {"jpegPhoto": BASE64}
+   });
+   Entry codecEntry = check codecClient->getEntry(dN, attributes = ["jpegPhoto"]);
+   test:assertEquals(codecEntry["jpegPhoto"], photo.toBase64());
+   codecClient->close();
+
+   _ = check ldapClient->delete(dN);
+   ldapClient->close();
+}
+
+@test:Config {}
+public function testAuthenticate() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password
+   });
+   boolean authenticated = check ldapClient->authenticate(domainName, password);
+   test:assertTrue(authenticated);
+
+   authenticated = check ldapClient->authenticate(domainName, "invalidPassword");
+   test:assertFalse(authenticated);
+
+   authenticated = check ldapClient->authenticate(domainName, "");
+   test:assertFalse(authenticated);
+
+   boolean isConnected = ldapClient->isConnected();
+   test:assertTrue(isConnected);
+
+   ldapClient->close();
+   boolean|Error closedResult = ldapClient->authenticate(domainName, password);
+   test:assertTrue(closedResult is Error);
+}
+
+@test:Config {}
+public function testModifyAttributes() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   string groupDn = "cn=developer,ou=Groups,dc=mycompany,dc=com";
+   string memberDn = "uid=newdeveloper,ou=Users,dc=mycompany,dc=com";
+   LdapResponse response = check ldapClient->modifyAttributes(groupDn, [
+      {attributeName: "member", modificationType: ADD_VALUES, values: memberDn},
+      {attributeName: "description", modificationType: REPLACE_VALUES, values: "Developers"}
+   ]);
+   test:assertEquals(response.resultCode, SUCCESS);
+   boolean isMember = check ldapClient->compare(groupDn, "member", memberDn);
+   test:assertTrue(isMember);
+
+   response = check ldapClient->modifyAttributes(groupDn, [
+      {attributeName: "member", modificationType: DELETE_VALUES, values: [memberDn]},
+      {attributeName: "description", modificationType: DELETE_VALUES}
+   ]);
+   test:assertEquals(response.resultCode, SUCCESS);
+   isMember = check ldapClient->compare(groupDn, "member", memberDn);
+   test:assertFalse(isMember);
+
+   string userDn = "uid=incremented,ou=Users,dc=mycompany,dc=com";
+   _ = check ldapClient->add(userDn, {
+      "objectClass": ["inetOrgPerson", "posixAccount"],
+      "cn": "Incremented User",
+      "sn": "User",
+      "uid": "incremented",
+      "uidNumber": "1000",
+      "gidNumber": "1000",
+      "homeDirectory": "/home/incremented"
+   });
+   response = check ldapClient->modifyAttributes(userDn, [
+      {attributeName: "uidNumber", modificationType: INCREMENT, values: "5"}
+   ]);
+   test:assertEquals(response.resultCode, SUCCESS);
+   record {|int uidNumber;|} user = check ldapClient->getEntry(userDn, attributes = ["uidNumber"]);
+   test:assertEquals(user.uidNumber, 1005);
+
+   foreach ModificationType modificationType in [ADD_VALUES, INCREMENT] {
+      LdapResponse|Error result = ldapClient->modifyAttributes(userDn, [
+         {attributeName: "uidNumber", modificationType}
+      ]);
+      test:assertTrue(result is Error);
+      if result is Error {
+         ErrorDetails errorDetails = result.detail();
+         test:assertEquals(errorDetails.resultCode, "PARAM ERROR");
+      }
+   }
+   _ = check ldapClient->delete(userDn);
+}
+
+@test:Config {}
+public function testModifyToMatch() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   string dN = "uid=matched,ou=Users,dc=mycompany,dc=com";
+   _ = check ldapClient->add(dN, {
+      "objectClass": ["inetOrgPerson"],
+      "cn": "Matched User",
+      "sn": "User",
+      "uid": "matched",
+      "mail": ["matched@gmail.com", "matched@yahoo.com"]
+   });
+   LdapResponse? response = check ldapClient->modifyToMatch(dN, {"sn": "User", "mail": ["matched@gmail.com",
+      "matched@yahoo.com"]});
+   test:assertEquals(response, ());
+
+   response = check ldapClient->modifyToMatch(dN, {"sn": "User", "mail": ["matched@gmail.com",
+      "matched@outlook.com"]});
+   test:assertEquals((<LdapResponse>response).resultCode, SUCCESS);
+   record {|string sn; string[] mail;|} entry = check ldapClient->getEntry(dN);
+   test:assertEquals(entry.sn, "User");
+   test:assertEquals(entry.mail.sort(), ["matched@gmail.com", "matched@outlook.com"]);
+
+   LdapResponse|Error? result = ldapClient->modifyToMatch("uid=unknown,ou=Users,dc=mycompany,dc=com", {"sn": "User"});
+   test:assertTrue(result is Error);
+   _ = check ldapClient->delete(dN);
+}
+
+@test:Config {}
+public function testResolveNestedMembers() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   string aliceDn = "uid=alice,ou=Users,dc=mycompany,dc=com";
+   string johnDn = "uid=johndoe,ou=Users,dc=mycompany,dc=com";
+   string firstGroupDn = "cn=first,ou=Groups,dc=mycompany,dc=com";
+   string secondGroupDn = "cn=second,ou=Groups,dc=mycompany,dc=com";
+   _ = check ldapClient->add(firstGroupDn, {
+      "objectClass": ["groupOfNames"],
+      "cn": "first",
+      "member": [aliceDn, secondGroupDn]
+   });
+   _ = check ldapClient->add(secondGroupDn, {
+      "objectClass": ["groupOfNames"],
+      "cn": "second",
+      "member": [johnDn, firstGroupDn]
+   });
+
+   string[] members = check ldapClient->resolveMembers(firstGroupDn);
+   test:assertEquals(members.sort(), [aliceDn, johnDn]);
+   members = check ldapClient->resolveMembers(firstGroupDn, 0);
+   test:assertEquals(members.sort(), [secondGroupDn, aliceDn]);
+
+   boolean isMember = check ldapClient->isMemberOf(johnDn, firstGroupDn);
+   test:assertTrue(isMember);
+   isMember = check ldapClient->isMemberOf("uid=ldclakmal,ou=Users,dc=mycompany,dc=com", firstGroupDn);
+   test:assertFalse(isMember);
+
+   isMember = check ldapClient->isMemberOf("uid=unknown,ou=Users,dc=mycompany,dc=com", firstGroupDn);
+   test:assertFalse(isMember);
+
+   string unknownGroupDn = "cn=unknown,ou=Groups,dc=mycompany,dc=com";
+   string[]|Error result = ldapClient->resolveMembers(unknownGroupDn);
+   test:assertTrue(result is Error);
+   if result is Error {
+      ErrorDetails errorDetails = result.detail();
+      test:assertEquals(errorDetails.resultCode, NO_SUCH_OBJECT);
+   }
+   boolean|Error memberResult = ldapClient->isMemberOf(johnDn, unknownGroupDn);
+   test:assertTrue(memberResult is Error);
+   if memberResult is Error {
+      ErrorDetails errorDetails = memberResult.detail();
+      test:assertEquals(errorDetails.resultCode, NO_SUCH_OBJECT);
+   }
+
+   _ = check ldapClient->delete(firstGroupDn);
+   _ = check ldapClient->delete(secondGroupDn);
+}
+
+@test:Config {}
+public function testImportLdif() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   ImportResult result = check ldapClient->importLdif("tests/resources/ldif/import.ldif", {maxOutstandingRequests: 2});
+   test:assertEquals(result.processed, 5);
+   test:assertEquals(result.succeeded, 4);
+   test:assertEquals(result.failed, 1);
+   test:assertEquals(result.failures[0].recordNumber, 5);
+   test:assertEquals(result.failures[0].dN, "uid=unknown,ou=Imported,dc=mycompany,dc=com");
+
+   record {|string sn;|} entry = check ldapClient->getEntry("uid=importedone,ou=Imported,dc=mycompany,dc=com");
+   test:assertEquals(entry.sn, "First");
+
+   ImportResult|Error invalidResult = ldapClient->importLdif("tests/resources/ldif/unknown.ldif");
+   test:assertTrue(invalidResult is Error);
+
+   _ = check ldapClient->delete("uid=importedone,ou=Imported,dc=mycompany,dc=com");
+   _ = check ldapClient->delete("uid=importedtwo,ou=Imported,dc=mycompany,dc=com");
+   _ = check ldapClient->delete("ou=Imported,dc=mycompany,dc=com");
+}
+
+@test:Config {}
+public function testImportLdifWithDependentChanges() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   ImportResult result = check ldapClient->importLdif("tests/resources/ldif/import-delete.ldif",
+         {maxOutstandingRequests: 10});
+   test:assertEquals(result.processed, 8);
+   test:assertEquals(result.succeeded, 8);
+   test:assertEquals(result.failed, 0);
+   test:assertEquals(result.failures, []);
+
+   Entry|Error deletedEntry = ldapClient->getEntry("ou=Tree,dc=mycompany,dc=com");
+   test:assertTrue(deletedEntry is Error);
+}
+
+@test:Config {}
+public function testExportSubtree() returns error? {
+   Client ldapClient = check validateClient(ldap);
+   string ldifPath = "target/export.ldif";
+   int count = check ldapClient->exportSubtree("ou=Users,dc=mycompany,dc=com", "(uid=alice)", ldifPath);
+   test:assertEquals(count, 1);
+   ImportResult result = check ldapClient->importLdif(ldifPath);
+   test:assertEquals(result.processed, 1);
+   test:assertEquals(result.failures[0].dN, "uid=alice,ou=Users,dc=mycompany,dc=com");
+
+   string exportedDn = "uid=exported,ou=Users,dc=mycompany,dc=com";
+   byte[] photo = [0xff, 0xd8, 0xff, 0xe0, 0x00, 0x10];
+   _ = check ldapClient->add(exportedDn, {
+      "objectClass": ["inetOrgPerson"],
+      "cn": "Exported User",
+      "sn": "User",
+      "uid": "exported",
+      "jpegPhoto": photo
+   });
+   string jsonPath = "target/export.jsonl";
+   count = check ldapClient->exportSubtree("ou=Users,dc=mycompany,dc=com", "(|(uid=alice)(uid=exported))", jsonPath,
+         JSON_LINES, 1);
+   test:assertEquals(count, 2);
+   string[] lines = check io:fileReadLines(jsonPath);
+   test:assertEquals(lines.length(), 2);
+   map<json>[] exportedEntries = [];
+   string[] exportedDns = [];
+   foreach string line in lines {
+      map<json> lineEntry = check (check line.fromJsonString()).ensureType();
+      exportedEntries.push(lineEntry);
+      exportedDns.push(check lineEntry["dn"].ensureType());
+   }
+   test:assertEquals(exportedDns.sort(), ["uid=alice,ou=Users,dc=mycompany,dc=com", exportedDn]);
+   map<json> exportedEntry = exportedEntries.filter(entry => entry["dn"] == exportedDn)[0];
+   test:assertEquals(exportedEntry["uid"], ["exported"]);
+   test:assertEquals(exportedEntry["cn"], ["Exported User"]);
+   test:assertEquals(exportedEntry["jpegPhoto;binary"], [photo.toBase64()]);
+   test:assertFalse(exportedEntry.hasKey("jpegPhoto"));
+   _ = check ldapClient->delete(exportedDn);
+
+   int|Error invalidResult = ldapClient->exportSubtree("ou=Users,dc=mycompany,dc=com", "(uid=alice", ldifPath);
+   test:assertTrue(invalidResult is Error);
+
+   foreach int pageSize in [0, -1, 2147483648] {
+      int|Error pageSizeResult = ldapClient->exportSubtree("ou=Users,dc=mycompany,dc=com", "(uid=alice)", ldifPath,
+            pageSize = pageSize);
+      test:assertTrue(pageSizeResult is Error);
+   }
+}
+
+@test:Config {}
+public function testMetrics() returns error? {
+   Client ldapClient = check new ({
+      hostName,
+      port,
+      domainName,
+      password,
+      collectMetrics: true
+   });
+   Entry _ = check ldapClient->getEntry("uid=alice,ou=Users,dc=mycompany,dc=com");
+   Entry|Error entry = ldapClient->getEntry("CN=Not Found User,dc=mycompany,dc=com");
+   test:assertTrue(entry is Error);
+   _ = check ldapClient->search("ou=Users,dc=mycompany,dc=com", "(uid=alice)", SUB);
+
+   Metrics? metrics = ldapClient.getMetrics();
+   test:assertTrue(metrics is Metrics);
+   if metrics is Metrics {
+      OperationMetrics? getEntryMetrics = metrics.operations["getEntry"];
+      test:assertTrue(getEntryMetrics is OperationMetrics);
+      if getEntryMetrics is OperationMetrics {
+         test:assertEquals(getEntryMetrics.requests, 2);
+         test:assertEquals(getEntryMetrics.inFlight, 0);
+         test:assertEquals(getEntryMetrics.cacheHits, 0);
+         test:assertEquals(getEntryMetrics.errors, {[NO_SUCH_OBJECT]: 1});
+         test:assertEquals(getEntryMetrics.entriesReturned, 1);
+         test:assertTrue(getEntryMetrics.bytesReturned > 0);
+         test:assertEquals(getEntryMetrics.serverLatency.count, 2);
+         test:assertEquals(getEntryMetrics.conversionLatency.count, 2);
+         HistogramBucket[] buckets = getEntryMetrics.serverLatency.buckets;
+         test:assertEquals(buckets[buckets.length() - 1].upperBound, float:Infinity);
+         test:assertEquals(buckets[buckets.length() - 1].count, 2);
+      }
+      test:assertEquals(metrics.operations["search"]?.requests, 1);
+      test:assertEquals(metrics.connectionPools.length(), 0);
+   }
+   test:assertEquals((check validateClient(ldap)).getMetrics(), ());
+}
@@ -48,3 +48,27 @@ record {|AttributeType...;|} updateUser = {
     "objectClass": ["person", "top"],
     "sn": "Updated User"
 };
+
+// The entry type to which `SearchResultConversionBenchmark` converts the entries of each `EntryShape`. It is a closed
+// record, so the entries are mapped directly to the record by the native code of `searchWithType`.
+type ConversionBenchmarkEntry record {|
+    string uid?;
+    string cn?;
+    string mail?;
+    string[] objectClass?;
+    string jpegPhoto?;
+    string userCertificate?;
+    string objectGUID?;
+    string objectSid?;
+    string[] member?;
+    string attribute0?;
+    string attribute1?;
+    string attribute2?;
+    string attribute3?;
+    string attribute4?;
+    string attribute5?;
+    string attribute6?;
+    string attribute7?;
+    string attribute8?;
+    string attribute9?;
+|};
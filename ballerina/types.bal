@@ -15,6 +15,7 @@
 // under the License.
 
 import ballerina/crypto;
+import ballerina/time;
 
 # Provides a set of configurations to connect with a directory server.
 #
@@ -23,14 +24,264 @@ import ballerina/crypto;
 # + domainName -  The domain name of the Active Directory
 # + password - The password of the Active Directory
 # + clientSecureSocket - Client secure socket configurations
+# + connectionPool - Connection pool configurations. If not provided, all the operations are performed
+#                    over a single connection
+# + authenticationPool - Configurations of the pool of connections used by `authenticate` to check credentials.
+#                        The pool is created when the first check is requested. If not provided, the default
+#                        pool configurations are used
+# + readReplicas - The directory servers used for the read operations (`search`, `searchWithType`, `getEntry`
+#                  and `compare`). When provided, the write operations are sent to the server given by `hostName`
+#                  and `port`, and separate connection pools are maintained for the read and write servers
+# + servers - Additional directory servers serving the same directory as the server given by `hostName` and `port`.
+#             When provided, the pooled connections are distributed across all the servers
+# + serverSelection - The strategy used to select a server when a new connection is established with the
+#                     `servers` or the `readReplicas`
+# + cache - Configurations of the cache of entries retrieved by `getEntry` and `searchWithType`. If not provided,
+#           the entries are not cached
+# + coalesceReads - Whether identical reads (`getEntry`, `search` and `searchWithType`) requested while such a
+#                   read is in progress share the request in progress instead of sending a new request. Disabled by
+#                   default, as a shared read may not reflect a change made by another client while it is in progress
+# + schemaAwareDecoding - Whether the attribute values are decoded based on the schema of the server. When enabled,
+#                         integer, boolean, generalized time and binary attributes are decoded to `int`, `boolean`,
+#                         `time:Utc` and `byte[]` values, and multi-valued attributes are always decoded to arrays
+# + binaryAttributes - Whether the values of binary attributes (e.g., `jpegPhoto`) are returned as `byte[]` values
+#                      instead of Base64 encoded strings
+# + attributeCodecs - The codecs used to convert the values of specific attributes, keyed by the attribute name.
+#                     These take precedence over the codecs of `objectGUID` and `objectSid`, which are converted
+#                     to their string representations by default
+# + collectMetrics - Whether the request counts, errors, latencies and volume of the results of the operations are
+#                    collected. When enabled, the metrics collected are returned by `getMetrics`. When metrics are
+#                    enabled for observability, these are also published to the configured metrics reporter
+#                    (e.g., Prometheus), regardless of this option
 public type ConnectionConfig record {|
     string hostName;
     int port;
     string domainName;
     string password;
     ClientSecureSocket clientSecureSocket?;
+    ConnectionPoolConfig connectionPool?;
+    ConnectionPoolConfig authenticationPool?;
+    Server[] readReplicas?;
+    Server[] servers?;
+    ServerSelection serverSelection = ROUND_ROBIN;
+    CacheConfig cache?;
+    boolean coalesceReads = false;
+    boolean schemaAwareDecoding = false;
+    boolean binaryAttributes = false;
+    map<AttributeCodec> attributeCodecs = {};
+    boolean collectMetrics = false;
 |};
 
+# Represents a directory server.
+#
+# + hostName - The host name of the directory server
+# + port - The port of the directory server
+public type Server record {|
+    string hostName;
+    int port;
+|};
+
+# The strategy used to select a directory server when a new connection is established.
+public enum ServerSelection {
+    # Selects the servers in turn, so that the connections are evenly distributed across the servers
+    ROUND_ROBIN,
+    # Selects the server with the fewest connections established by the client
+    FEWEST_CONNECTIONS,
+    # Connects to all the servers concurrently and uses the first connection established
+    FASTEST_CONNECT,
+    # Selects the first server available in the given order, and fails over to the next server only when the
+    # preceding servers are unavailable
+    FAILOVER
+};
+
+# The codec used to convert the values of an attribute retrieved from the directory server.
+public enum AttributeCodec {
+    # Converts a 16-byte value to the string representation of a GUID
+    GUID,
+    # Converts a binary value to the string representation of a security identifier
+    SID,
+    # Converts a value to a Base64 encoded string
+    BASE64,
+    # Converts a value to a `byte[]` value
+    BINARY,
+    # Converts a value to a string
+    STRING
+};
+
+# Provides a set of configurations for the pool of connections used by the client.
+#
+# + initialConnections - The number of connections to be established when the pool is created
+# + maxConnections - The maximum number of connections to be maintained in the pool
+# + maxWaitTime - The maximum time (in seconds) to wait for a connection to become available when all the
+#                 connections are in use. The operation fails if a connection is not available within this time
+# + maxConnectionAge - The maximum time (in seconds) a connection is kept in the pool before it is replaced
+#                      with a new connection. If set to `0`, connections are not expired based on their age
+# + healthCheckInterval - The interval (in seconds) at which the idle connections in the pool are checked
+public type ConnectionPoolConfig record {|
+    int initialConnections = 1;
+    int maxConnections = 10;
+    decimal maxWaitTime = 5;
+    decimal maxConnectionAge = 0;
+    decimal healthCheckInterval = 60;
+|};
+
+# Provides a set of configurations for the cache of entries maintained by the client. The cached entries of a
+# distinguished name are discarded when the entry is changed through the same client.
+#
+# + capacity - The maximum number of results kept in the cache, which must be positive. The least recently used
+#              result is evicted when the capacity is exceeded
+# + timeToLive - The time (in seconds) a result is served from the cache after it is retrieved from the server,
+#                which must be positive
+# + notFoundTimeToLive - The time (in seconds) `getEntry` reports an entry as not found, without contacting the
+#                        server, after the server reported that the entry does not exist. If set to `0`,
+#                        entries that do not exist are not cached
+public type CacheConfig record {|
+    int capacity = 1000;
+    decimal timeToLive = 60;
+    decimal notFoundTimeToLive = 0;
+|};
+
+# Represents the statistics of the cache of entries maintained by the client.
+#
+# + hits - The number of reads served from the cache
+# + misses - The number of reads sent to the server as the result was not in the cache
+# + size - The number of results currently in the cache
+public type CacheStatistics record {|
+    int hits;
+    int misses;
+    int size;
+|};
+
+# Represents the metrics collected by the client.
+#
+# + operations - The metrics of each operation, keyed by the name of the remote method (e.g., `search`)
+# + connectionPools - The utilization of each connection pool (`write`, `read` and `authentication`), keyed by
+#                     the name of the pool. This is empty when a single connection is used
+public type Metrics record {|
+    map<OperationMetrics> operations = {};
+    map<ConnectionPoolMetrics> connectionPools = {};
+|};
+
+# Represents the metrics of an operation.
+#
+# + requests - The number of operations requested
+# + inFlight - The number of operations awaiting a result
+# + sharedRequests - The number of operations that shared an identical search in progress instead of sending
+#                    a new request, when `coalesceReads` is enabled
+# + cacheHits - The number of operations served from the cache, which are not included in the latencies
+# + errors - The number of operations failed, keyed by the result code of the failure
+# + serverLatency - The time spent to obtain a connection, send the request and receive the response
+# + conversionLatency - The time spent to convert the entries returned to Ballerina values
+# + entriesReturned - The number of entries returned by the server
+# + bytesReturned - The size of the distinguished names and attribute values returned by the server, in bytes
+public type OperationMetrics record {|
+    int requests;
+    int inFlight;
+    int sharedRequests;
+    int cacheHits;
+    map<int> errors = {};
+    LatencyHistogram serverLatency;
+    LatencyHistogram conversionLatency;
+    int entriesReturned;
+    int bytesReturned;
+|};
+
+# Represents the distribution of the latency of an operation.
+#
+# + count - The number of operations completed
+# + sum - The total latency of the operations completed, in seconds
+# + buckets - The number of operations completed within each upper bound, in ascending order of the bound
+public type LatencyHistogram record {|
+    int count;
+    decimal sum;
+    HistogramBucket[] buckets;
+|};
+
+# Represents a bucket of a latency histogram.
+#
+# + upperBound - The upper bound of the latency, in seconds. The last bucket has an upper bound of `float:Infinity`
+#                and counts all the operations
+# + count - The number of operations with a latency less than or equal to the upper bound
+public type HistogramBucket record {|
+    float upperBound;
+    int count;
+|};
+
+# Represents the utilization of a connection pool.
+#
+# + availableConnections - The number of connections currently available to be checked out
+# + maxConnections - The maximum number of connections maintained by the pool
+# + successfulCheckouts - The number of connections checked out from the pool
+# + failedCheckouts - The number of attempts to check out a connection that failed
+# + checkoutsAfterWaiting - The number of connections checked out only after waiting for a connection to be released
+public type ConnectionPoolMetrics record {|
+    int availableConnections;
+    int maxConnections;
+    int successfulCheckouts;
+    int failedCheckouts;
+    int checkoutsAfterWaiting;
+|};
+
+# Provides a set of configurations for the `ldap:Listener`.
+#
+# + hostName - The host name of the directory server
+# + port - The port of the directory server
+# + domainName - The domain name used to bind to the directory server
+# + password - The password used to bind to the directory server
+# + clientSecureSocket - Client secure socket configurations
+# + baseDn - The base distinguished name of the entries of which the changes are delivered
+# + scope - The scope of the entries of which the changes are delivered, relative to the `baseDn`
+# + filter - The filter that the changed entries should match. The filter is only applied with the
+#            `PERSISTENT_SEARCH` mode
+# + mode - The mechanism used to receive the changes from the directory server
+# + pollingInterval - The interval (in seconds) at which the changelog is polled with the `CHANGELOG` mode
+public type ListenerConfig record {|
+    string hostName;
+    int port;
+    string domainName;
+    string password;
+    ClientSecureSocket clientSecureSocket?;
+    string baseDn;
+    SearchScope scope = SUB;
+    string filter = "(objectClass=*)";
+    ChangeTrackingMode mode = PERSISTENT_SEARCH;
+    decimal pollingInterval = 5;
+|};
+
+# The mechanism used by the `ldap:Listener` to receive the changes from the directory server.
+public enum ChangeTrackingMode {
+    # Receives the changes as they are made through a persistent search
+    PERSISTENT_SEARCH,
+    # Polls the `cn=changelog` entries of the directory server for the changes
+    CHANGELOG
+};
+
+# The type of a change made to an entry.
+public enum ChangeType {
+    # An entry was added
+    ADD,
+    # The attributes of an entry were modified
+    MODIFY,
+    # An entry was deleted
+    DELETE,
+    # An entry was renamed or moved
+    MODIFY_DN
+};
+
+# Represents a change made to an entry, delivered by the `ldap:Listener`.
+#
+# + changeType - The type of the change
+# + dN - The distinguished name of the entry. For a `MODIFY_DN` change, this is the new distinguished name
+# + previousDn - The distinguished name of the entry before a `MODIFY_DN` change
+# + entry - The entry after the change, or the deleted entry for a `DELETE` change, if provided by the server
+# + changeNumber - The change number assigned by the server, if provided by the server
+public type ChangeEvent record {|
+    ChangeType changeType;
+    string dN;
+    string previousDn?;
+    Entry entry?;
+    int changeNumber?;
+|};
 
 # Provides configurations for facilitating secure communication with a remote ldap server.
 #
@@ -60,6 +311,106 @@ public type LdapResponse record {|
     string[]? referral;
 |};
 
+# An entry to be created by the `addAll` operation.
+#
+# + dN - The distinguished name of the entry
+# + entry - The information to add
+public type AddOperation record {|
+    string dN;
+    Entry entry;
+|};
+
+# An entry to be updated by the `modifyAll` operation.
+#
+# + dN - The distinguished name of the entry
+# + entry - The information to update
+public type ModifyOperation record {|
+    string dN;
+    Entry entry;
+|};
+
+# A modification of the values of an attribute, applied by the `modifyAttributes` operation.
+#
+# + attributeName - The name of the attribute
+# + modificationType - The type of the modification
+# + values - The values to add, delete or replace. If not provided with `DELETE_VALUES`, the attribute is removed,
+#            and if not provided with `REPLACE_VALUES`, all the values of the attribute are removed. With `INCREMENT`,
+#            the amount by which the value is incremented
+public type Modification record {|
+    string attributeName;
+    ModificationType modificationType;
+    AttributeType values?;
+|};
+
+# The type of a modification of the values of an attribute.
+public enum ModificationType {
+    # Adds the given values to the attribute
+    ADD_VALUES,
+    # Removes the given values, or all the values if none are given, from the attribute
+    DELETE_VALUES,
+    # Replaces all the values of the attribute with the given values
+    REPLACE_VALUES,
+    # Increments the integer value of the attribute by the given amount
+    INCREMENT
+};
+
+# Provides a set of options for the `importLdif` operation.
+#
+# + maxOutstandingRequests - The maximum number of records awaiting a response from the server at a time
+# + parseThreads - The number of threads used to parse the records of the file
+# + progressInterval - The number of records processed between two reports of the progress
+# + progressHandler - The function to which the progress is reported, and the final progress once all the
+#                     records are processed
+# + maxFailures - The maximum number of failed records included in the result. The remaining failures are only
+#                 counted
+public type ImportOptions record {|
+    int maxOutstandingRequests = 100;
+    int parseThreads = 2;
+    int progressInterval = 1000;
+    isolated function (ImportProgress progress) progressHandler?;
+    int maxFailures = 1000;
+|};
+
+# Represents the progress of an `importLdif` operation.
+#
+# + processed - The number of records read from the file
+# + succeeded - The number of records applied successfully
+# + failed - The number of records that could not be parsed or applied
+public type ImportProgress record {|
+    int processed;
+    int succeeded;
+    int failed;
+|};
+
+# Represents a record that could not be imported by the `importLdif` operation.
+#
+# + recordNumber - The position of the record in the file, starting from `1`
+# + dN - The distinguished name of the record, if the record could be parsed
+# + message - The reason for the failure
+public type ImportFailure record {|
+    int recordNumber;
+    string dN?;
+    string message;
+|};
+
+# Represents the result of an `importLdif` operation.
+#
+# + failures - The records that could not be imported
+public type ImportResult record {|
+    *ImportProgress;
+    ImportFailure[] failures;
+|};
+
+# The format of the file written by the `exportSubtree` operation.
+public enum ExportFormat {
+    # The LDAP Data Interchange Format
+    LDIF,
+    # A JSON object per line, with the `dn` of the entry and an array of the values of each attribute. The values
+    # of a binary attribute are Base64 encoded, and are written under the name of the attribute with the `;binary`
+    # option (e.g., `jpegPhoto;binary`)
+    JSON_LINES
+};
+
 # LDAP search result type.
 #
 # + resultCode - The result status of the response
@@ -107,7 +458,7 @@ public enum SearchScope {
 };
 
 # Attribute type of an LDAP entry.
-public type AttributeType boolean|int|float|decimal|string|string[];
+public type AttributeType boolean|int|float|decimal|string|string[]|int[]|boolean[]|byte[]|byte[][]|time:Utc|time:Utc[];
 
 # LDAP entry type.
 public type Entry record{|AttributeType...;|};
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BError;
+
+/**
+ * Initializes the `ldap` module for the native code to create its records outside a Ballerina program.
+ */
+final class BallerinaModule {
+    private static final Module LDAP_MODULE = new Module("ballerina", "ldap", "1");
+    /**
+     * The class generated for the module, which registers the records of the module when it is loaded.
+     */
+    private static final String MODULE_INIT_CLASS = "ballerina.ldap.1.$_init";
+
+    private BallerinaModule() {}
+
+    static synchronized void initialize() {
+        try {
+            Class.forName(MODULE_INIT_CLASS);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("The Ballerina package is not built. Build it with `./gradlew build` "
+                    + "before running the benchmarks.", e);
+        }
+        ModuleUtils.setModule(LDAP_MODULE);
+    }
+
+    /**
+     * Returns a record type defined in the tests of the package, which are included in the testable jar of the
+     * package.
+     */
+    static Type getTestRecordType(String typeName) {
+        try {
+            return TypeUtils.getType(ValueCreator.createRecordValue(LDAP_MODULE, typeName));
+        } catch (BError e) {
+            throw new IllegalStateException("The record '" + typeName + "' is not found. Build the package "
+                    + "with its tests using `./gradlew build` before running the benchmarks.", e);
+        }
+    }
+}
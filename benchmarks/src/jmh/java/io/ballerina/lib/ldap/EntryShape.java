@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The shapes of the search results the benchmarks are run with.
+ */
+public enum EntryShape {
+    /**
+     * A few entries with many single-valued attributes.
+     */
+    WIDE(100) {
+        @Override
+        List<Attribute> createAttributes(int index, Random random) {
+            List<Attribute> attributes = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                attributes.add(new Attribute("attribute" + i, randomString(random, 24)));
+            }
+            return attributes;
+        }
+    },
+    /**
+     * Many entries with a few small attributes, as returned when listing users.
+     */
+    SMALL(10_000) {
+        @Override
+        List<Attribute> createAttributes(int index, Random random) {
+            return List.of(new Attribute("uid", "user" + index),
+                    new Attribute("cn", "User " + index),
+                    new Attribute("mail", "user" + index + "@mycompany.com"),
+                    new Attribute("objectClass", "top", "person", "organizationalPerson", "inetOrgPerson"));
+        }
+    },
+    /**
+     * Entries dominated by binary attributes, including the Active Directory identifiers.
+     */
+    BINARY(100) {
+        @Override
+        List<Attribute> createAttributes(int index, Random random) {
+            return List.of(new Attribute("uid", "user" + index),
+                    new Attribute("jpegPhoto", randomBytes(random, 32 * 1024)),
+                    new Attribute("userCertificate", randomBytes(random, 2 * 1024)),
+                    new Attribute("objectGUID", randomBytes(random, 16)),
+                    new Attribute("objectSid", createObjectSid(random)));
+        }
+    },
+    /**
+     * A few groups with large multi-valued membership attributes.
+     */
+    MULTI_VALUED(10) {
+        @Override
+        List<Attribute> createAttributes(int index, Random random) {
+            String[] members = new String[5_000];
+            for (int i = 0; i < members.length; i++) {
+                members[i] = "uid=user" + i + ",ou=Users,dc=mycompany,dc=com";
+            }
+            return List.of(new Attribute("cn", "group" + index), new Attribute("member", members));
+        }
+    };
+
+    private static final long SEED = 42;
+    private static final String BASE_DN = "dc=mycompany,dc=com";
+
+    private final int entryCount;
+
+    EntryShape(int entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    abstract List<Attribute> createAttributes(int index, Random random);
+
+    /**
+     * Creates the entries of this shape. The same entries are created on each invocation.
+     */
+    List<SearchResultEntry> createEntries() {
+        Random random = new Random(SEED);
+        List<SearchResultEntry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            entries.add(new SearchResultEntry("uid=user" + i + ",ou=Users," + BASE_DN, createAttributes(i, random)));
+        }
+        return entries;
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append((char) ('a' + random.nextInt(26)));
+        }
+        return value.toString();
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] value = new byte[length];
+        random.nextBytes(value);
+        return value;
+    }
+
+    /**
+     * Creates a security identifier with the NT authority and five sub-authorities, as assigned to domain users.
+     */
+    private static byte[] createObjectSid(Random random) {
+        byte[] value = randomBytes(random, 28);
+        value[0] = 1;
+        value[1] = 5;
+        byte[] authority = {0, 0, 0, 0, 0, 5};
+        System.arraycopy(authority, 0, value, 2, authority.length);
+        return value;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.AddRequest;
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.ModifyRequest;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of Ballerina entries to add and modify requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestGenerationBenchmark {
+    @Param
+    private EntryShape shape;
+
+    private final List<BString> dNs = new ArrayList<>();
+    private final List<BMap<BString, Object>> entries = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        BallerinaModule.initialize();
+        // The binary values are given as `byte[]` values, as the entries returned with `binaryAttributes` are.
+        AttributeCodecRegistry codecRegistry = AttributeCodecRegistry.fromConfig(ValueCreator.createMapValue(),
+                true, null);
+        for (SearchResultEntry searchEntry : shape.createEntries()) {
+            BMap<BString, Object> entry = Utils.createEntryRecord();
+            for (Attribute attribute : searchEntry.getAttributes()) {
+                Client.processAttribute(attribute, entry, codecRegistry);
+            }
+            dNs.add(StringUtils.fromString(searchEntry.getDN()));
+            entries.add(entry);
+        }
+    }
+
+    @Benchmark
+    public void generateAddRequest(Blackhole blackhole) {
+        for (int i = 0; i < entries.size(); i++) {
+            AddRequest addRequest = Client.generateAddRequest(dNs.get(i), entries.get(i));
+            blackhole.consume(addRequest);
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void generateModifyRequest(Blackhole blackhole) {
+        for (int i = 0; i < entries.size(); i++) {
+            BMap<BString, ?> entry = entries.get(i);
+            ModifyRequest modifyRequest = Client.generateModifyRequest(dNs.get(i), (BMap<BString, BString>) entry);
+            blackhole.consume(modifyRequest);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of the entries of a search to the result of `search` and `searchWithType`. The entries
+ * of `searchWithType` are converted to a closed record, so these are mapped directly to the record. As the closed
+ * record requests only its fields, these entries include only the attributes of the record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResultConversionBenchmark {
+    /**
+     * The closed record defined in the tests of the package.
+     */
+    private static final String TYPED_ENTRY = "ConversionBenchmarkEntry";
+
+    @Param
+    private EntryShape shape;
+
+    private List<SearchResultEntry> entries;
+    private SearchResult searchResult;
+    private List<SearchResultEntry> typedEntries;
+    private BTypedesc entriesType;
+
+    @Setup
+    public void setup() {
+        BallerinaModule.initialize();
+        entries = shape.createEntries();
+        searchResult = new SearchResult(1, ResultCode.SUCCESS, null, null, null, entries, List.of(),
+                entries.size(), 0, null);
+        Type entryType = BallerinaModule.getTestRecordType(TYPED_ENTRY);
+        if (RecordMapper.getMapper(entryType).isEmpty()) {
+            throw new IllegalStateException("The record '" + TYPED_ENTRY + "' is not mapped directly.");
+        }
+        Set<String> attributeNames = Set.of(Utils.getAttributeNames(ValueCreator.createArrayValue(new BString[0]),
+                entryType));
+        typedEntries = new ArrayList<>(entries.size());
+        for (SearchResultEntry searchEntry : entries) {
+            typedEntries.add(new SearchResultEntry(searchEntry.getDN(), searchEntry.getAttributes().stream()
+                    .filter(attribute -> attributeNames.contains(attribute.getName())).toList()));
+        }
+        entriesType = ValueCreator.createTypedescValue(TypeCreator.createArrayType(entryType));
+    }
+
+    @Benchmark
+    public BMap<BString, Object> createSearchResultRecord() {
+        List<BMap<BString, Object>> entryRecords = new ArrayList<>(entries.size());
+        for (SearchResultEntry searchEntry : entries) {
+            BMap<BString, Object> entry = Utils.createEntryRecord();
+            for (Attribute attribute : searchEntry.getAttributes()) {
+                Client.processAttribute(attribute, entry);
+            }
+            entryRecords.add(entry);
+        }
+        return Utils.createSearchResultRecord(searchResult, List.of(), entryRecords);
+    }
+
+    @Benchmark
+    public Object convertToTypedEntries() {
+        return CustomSearchEntryListener.toArray(typedEntries, entriesType, null);
+    }
+}
@@ -0,0 +1,89 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ldap;
+import ballerina/random;
+
+const USERS_DN = "ou=Users," + BASE_DN;
+const GROUPS_DN = "ou=Groups," + BASE_DN;
+const SEED_BATCH_SIZE = 1000;
+
+# Adds the synthetic entries the workloads run against.
+#
+# + ldapClient - The client to add the entries with
+# + return - An error if an entry could not be added
+function seed(ldap:Client ldapClient) returns error? {
+    _ = check ldapClient->add(BASE_DN, {objectClass: ["top", "domain"], dc: "loadtest"});
+    _ = check ldapClient->add(USERS_DN, {objectClass: ["top", "organizationalUnit"], ou: "Users"});
+    _ = check ldapClient->add(GROUPS_DN, {objectClass: ["top", "organizationalUnit"], ou: "Groups"});
+
+    byte[] photo = [];
+    foreach int i in 0 ..< photoSize {
+        photo.push(<byte>(check random:createIntInRange(0, 256)));
+    }
+    ldap:AddOperation[] operations = [];
+    foreach int i in 0 ..< users {
+        ldap:Entry user = {
+            objectClass: ["top", "person", "organizationalPerson", "inetOrgPerson"],
+            uid: getUserId(i),
+            cn: string `User ${i}`,
+            sn: string `${i}`,
+            mail: string `${getUserId(i)}@loadtest.com`,
+            employeeNumber: getEmployeeNumber(i)
+        };
+        if photo.length() > 0 {
+            user["jpegPhoto"] = photo;
+        }
+        operations.push({dN: getUserDn(i), entry: user});
+        if operations.length() == SEED_BATCH_SIZE {
+            check addAll(ldapClient, operations);
+            operations = [];
+        }
+    }
+    foreach int i in 0 ..< groups {
+        string[] members = [];
+        foreach int j in 0 ..< int:min(membersPerGroup, users) {
+            members.push(getUserDn((i + j) % users));
+        }
+        operations.push({
+            dN: getGroupDn(i),
+            entry: {objectClass: ["top", "groupOfNames"], cn: string `group${i}`, member: members}
+        });
+    }
+    check addAll(ldapClient, operations);
+}
+
+function addAll(ldap:Client ldapClient, ldap:AddOperation[] operations) returns error? {
+    (ldap:LdapResponse|ldap:Error)[] results = ldapClient->addAll(operations);
+    foreach ldap:LdapResponse|ldap:Error result in results {
+        if result is ldap:Error {
+            return result;
+        }
+    }
+}
+
+isolated function getUserId(int index) returns string => string `user${index}`;
+
+isolated function getUserDn(int index) returns string => string `uid=${getUserId(index)},${USERS_DN}`;
+
+isolated function getGroupDn(int index) returns string => string `cn=group${index},${GROUPS_DN}`;
+
+# Returns the employee number of a user. The users share the same employee number in groups of
+# `usersPerEmployeeNumber`, so that a search by the employee number returns that many entries.
+#
+# + index - The index of the user
+# + return - The employee number of the user
+isolated function getEmployeeNumber(int index) returns string => (index / usersPerEmployeeNumber).toString();
@@ -0,0 +1,76 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/ldap;
+
+const BASE_DN = "dc=loadtest,dc=com";
+const BIND_DN = "cn=admin,dc=loadtest,dc=com";
+const BIND_PASSWORD = "password";
+
+# The number of users seeded
+configurable int users = 10000;
+# The number of users sharing an employee number, which is the number of entries returned by a search
+configurable int usersPerEmployeeNumber = 20;
+# The number of groups seeded
+configurable int groups = 10;
+# The number of members of each group
+configurable int membersPerGroup = 5000;
+# The size of the `jpegPhoto` attribute of each user, in bytes. The users are seeded without photos if set to `0`
+configurable int photoSize = 0;
+# The workloads to run, in order
+configurable Workload[] workloads = [LOOKUP, SEARCH, WRITE, MIXED];
+# The number of workers performing operations concurrently
+configurable int concurrency = 16;
+# The time each workload is run for before the results are recorded, in seconds
+configurable decimal warmUpDuration = 10;
+# The time the results of each workload are recorded for, in seconds
+configurable decimal duration = 30;
+# The configurations of the connection pool of the client
+configurable ldap:ConnectionPoolConfig connectionPool = {maxConnections: 16};
+# Whether the client caches the entries it reads
+configurable boolean cacheEntries = false;
+
+public function main() returns error? {
+    InMemoryDirectoryServer server = check new (BASE_DN, BIND_DN, BIND_PASSWORD);
+    do {
+        ldap:ConnectionConfig config = {
+            hostName: "localhost",
+            port: server.getPort(),
+            domainName: BIND_DN,
+            password: BIND_PASSWORD,
+            connectionPool
+        };
+        if cacheEntries {
+            config.cache = {};
+        }
+        ldap:Client ldapClient = check new (config);
+        io:println(string `Seeding ${users} users and ${groups} groups of ${membersPerGroup} members.`);
+        check seed(ldapClient);
+        io:println(string `Running with ${concurrency} workers for ${duration}s per workload.`);
+        io:println(formatRow(["workload", "ops/s", "p50 (ms)", "p99 (ms)", "p999 (ms)", "errors"]));
+        foreach Workload workload in workloads {
+            _ = check runWorkload(ldapClient, workload, warmUpDuration);
+            WorkloadResult result = check runWorkload(ldapClient, workload, duration);
+            io:println(formatResult(result));
+        }
+        ldapClient->close();
+    } on fail error e {
+        server.shutDown();
+        return e;
+    }
+    server.shutDown();
+}
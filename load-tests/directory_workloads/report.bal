@@ -0,0 +1,99 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ldap;
+import ballerina/time;
+
+const COLUMN_WIDTH = 12;
+
+# Represents the results of a workload.
+#
+# + workload - The workload run
+# + throughput - The number of operations completed successfully per second
+# + p50 - The median latency, in milliseconds
+# + p99 - The 99th percentile latency, in milliseconds
+# + p999 - The 99.9th percentile latency, in milliseconds
+# + errors - The number of operations failed
+type WorkloadResult record {|
+    Workload workload;
+    decimal throughput;
+    decimal p50;
+    decimal p99;
+    decimal p999;
+    int errors;
+|};
+
+# Runs a workload with `concurrency` workers for the given duration.
+#
+# + ldapClient - The client to perform the operations with
+# + workload - The workload to run
+# + runDuration - The time the workload is run for, in seconds
+# + return - The results of the workload, or an error if a worker failed
+function runWorkload(ldap:Client ldapClient, Workload workload, decimal runDuration) returns WorkloadResult|error {
+    decimal startTime = time:monotonicNow();
+    decimal endTime = startTime + runDuration;
+    future<WorkerResult|error>[] workers = [];
+    foreach int i in 0 ..< concurrency {
+        workers.push(start runWorker(ldapClient, workload, endTime));
+    }
+    int[] latencies = [];
+    int errors = 0;
+    foreach future<WorkerResult|error> worker in workers {
+        WorkerResult result = check wait worker;
+        latencies.push(...result.latencies);
+        errors += result.errors;
+    }
+    decimal elapsedTime = time:monotonicNow() - startTime;
+    int[] sortedLatencies = latencies.sort();
+    return {
+        workload,
+        throughput: <decimal>sortedLatencies.length() / elapsedTime,
+        p50: getPercentile(sortedLatencies, 0.5),
+        p99: getPercentile(sortedLatencies, 0.99),
+        p999: getPercentile(sortedLatencies, 0.999),
+        errors
+    };
+}
+
+# Returns the latency below which the given fraction of the latencies fall, using the nearest-rank method.
+#
+# + sortedLatencies - The latencies in ascending order, in microseconds
+# + fraction - The fraction of the latencies
+# + return - The latency, in milliseconds
+isolated function getPercentile(int[] sortedLatencies, decimal fraction) returns decimal {
+    if sortedLatencies.length() == 0 {
+        return 0;
+    }
+    int rank = <int>decimal:ceiling(fraction * <decimal>sortedLatencies.length());
+    return <decimal>sortedLatencies[int:max(rank, 1) - 1] / 1000;
+}
+
+isolated function formatResult(WorkloadResult result) returns string => formatRow([
+    result.workload,
+    result.throughput.round(0).toString(),
+    result.p50.round(3).toString(),
+    result.p99.round(3).toString(),
+    result.p999.round(3).toString(),
+    result.errors.toString()
+]);
+
+isolated function formatRow(string[] columns) returns string {
+    string row = "";
+    foreach string column in columns {
+        row += column.padStart(COLUMN_WIDTH);
+    }
+    return row;
+}
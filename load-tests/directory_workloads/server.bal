@@ -0,0 +1,97 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/jballerina.java.arrays as jarrays;
+
+const LISTENER_CONFIG_CLASS = "com.unboundid.ldap.listener.InMemoryListenerConfig";
+
+# Represents a directory server running in the same process as the load test, so that the results are not
+# affected by the network or the implementation of an external server.
+class InMemoryDirectoryServer {
+    private final handle server;
+
+    # Starts a directory server listening on a free port.
+    #
+    # + baseDn - The base distinguished name of the entries held by the server
+    # + bindDn - The distinguished name the client binds with
+    # + password - The password the client binds with
+    # + return - An error if the server could not be started
+    function init(string baseDn, string bindDn, string password) returns error? {
+        handle baseDns = jarrays:newInstance(check java:getClass("java.lang.String"), 1);
+        jarrays:set(baseDns, 0, java:fromString(baseDn));
+        handle config = check newServerConfig(baseDns);
+        check addBindCredentials(config, java:fromString(bindDn), java:fromString(password));
+        handle listenerConfigs = jarrays:newInstance(check java:getClass(LISTENER_CONFIG_CLASS), 1);
+        jarrays:set(listenerConfigs, 0, check createListenerConfig(java:fromString("LDAP"), 0));
+        check setListenerConfigs(config, listenerConfigs);
+        self.server = check newServer(config);
+        check startListening(self.server);
+    }
+
+    # Returns the port the server is listening on.
+    #
+    # + return - The port of the server
+    function getPort() returns int => getListenPort(self.server);
+
+    # Closes the connections of the clients and stops the server.
+    function shutDown() {
+        shutDownServer(self.server, true);
+    }
+}
+
+function newServerConfig(handle baseDns) returns handle|error = @java:Constructor {
+    'class: "com.unboundid.ldap.listener.InMemoryDirectoryServerConfig",
+    paramTypes: [{'class: "java.lang.String", dimensions: 1}]
+} external;
+
+function addBindCredentials(handle config, handle bindDn, handle password) returns error? = @java:Method {
+    name: "addAdditionalBindCredentials",
+    'class: "com.unboundid.ldap.listener.InMemoryDirectoryServerConfig",
+    paramTypes: ["java.lang.String", "java.lang.String"]
+} external;
+
+function createListenerConfig(handle name, int port) returns handle|error = @java:Method {
+    name: "createLDAPConfig",
+    'class: LISTENER_CONFIG_CLASS,
+    paramTypes: ["java.lang.String", "int"]
+} external;
+
+function setListenerConfigs(handle config, handle listenerConfigs) returns error? = @java:Method {
+    'class: "com.unboundid.ldap.listener.InMemoryDirectoryServerConfig",
+    paramTypes: [{'class: LISTENER_CONFIG_CLASS, dimensions: 1}]
+} external;
+
+function newServer(handle config) returns handle|error = @java:Constructor {
+    'class: "com.unboundid.ldap.listener.InMemoryDirectoryServer",
+    paramTypes: ["com.unboundid.ldap.listener.InMemoryDirectoryServerConfig"]
+} external;
+
+function startListening(handle server) returns error? = @java:Method {
+    'class: "com.unboundid.ldap.listener.InMemoryDirectoryServer",
+    paramTypes: []
+} external;
+
+function getListenPort(handle server) returns int = @java:Method {
+    'class: "com.unboundid.ldap.listener.InMemoryDirectoryServer",
+    paramTypes: []
+} external;
+
+function shutDownServer(handle server, boolean closeExistingConnections) = @java:Method {
+    name: "shutDown",
+    'class: "com.unboundid.ldap.listener.InMemoryDirectoryServer",
+    paramTypes: ["boolean"]
+} external;
@@ -0,0 +1,86 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ldap;
+import ballerina/random;
+import ballerina/time;
+
+# Represents a workload driven against the directory server.
+enum Workload {
+    # Reads single users by their distinguished names
+    LOOKUP,
+    # Searches the users sharing an employee number
+    SEARCH,
+    # Replaces an attribute of single users
+    WRITE,
+    # Performs 70% lookups, 20% searches and 10% writes
+    MIXED
+}
+
+# Represents the operations completed by a worker.
+#
+# + latencies - The latency of each operation completed successfully, in microseconds
+# + errors - The number of operations failed
+type WorkerResult record {|
+    int[] latencies;
+    int errors;
+|};
+
+# Performs the operations of a workload until the given time.
+#
+# + ldapClient - The client to perform the operations with
+# + workload - The workload to perform
+# + endTime - The monotonic time at which the worker stops, in seconds
+# + return - The operations completed by the worker, or an error if a random number could not be generated
+function runWorker(ldap:Client ldapClient, Workload workload, decimal endTime) returns WorkerResult|error {
+    WorkerResult result = {latencies: [], errors: 0};
+    while time:monotonicNow() < endTime {
+        Workload operation = workload == MIXED ? check selectMixedOperation() : workload;
+        int user = check random:createIntInRange(0, users);
+        decimal startTime = time:monotonicNow();
+        error? operationResult = perform(ldapClient, operation, user);
+        int latency = <int>((time:monotonicNow() - startTime) * 1000000);
+        if operationResult is error {
+            result.errors += 1;
+        } else {
+            result.latencies.push(latency);
+        }
+    }
+    return result;
+}
+
+function selectMixedOperation() returns Workload|error {
+    int value = check random:createIntInRange(0, 100);
+    if value < 70 {
+        return LOOKUP;
+    }
+    return value < 90 ? SEARCH : WRITE;
+}
+
+function perform(ldap:Client ldapClient, Workload operation, int user) returns error? {
+    match operation {
+        LOOKUP => {
+            ldap:Entry _ = check ldapClient->getEntry(getUserDn(user));
+        }
+        SEARCH => {
+            string filter = string `(employeeNumber=${getEmployeeNumber(user)})`;
+            _ = check ldapClient->search(USERS_DN, filter, ldap:ONE, ["uid", "cn", "mail"]);
+        }
+        _ => {
+            _ = check ldapClient->modify(getUserDn(user), {description: time:monotonicNow().toString()});
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.util.Base64;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static io.ballerina.lib.ldap.Client.OBJECT_GUID;
+import static io.ballerina.lib.ldap.Client.OBJECT_SID;
+
+/**
+ * Converts the values of the attributes of an entry to Ballerina values. The codec registered for an attribute
+ * takes precedence, followed by the schema of the server when schema aware decoding is enabled. The values of
+ * the remaining binary attributes are converted with the binary codec, and any other values are kept as strings.
+ */
+public final class AttributeCodecRegistry {
+    public static final String NATIVE_CODEC_REGISTRY = "codecRegistry";
+    public static final String GUID = "GUID";
+    public static final String SID = "SID";
+    public static final String BASE64 = "BASE64";
+    public static final String BINARY = "BINARY";
+    public static final String STRING = "STRING";
+
+    private static final ArrayType BYTE_ARRAY_ARRAY_TYPE = TypeCreator.createArrayType(
+            TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE));
+    private static final Map<String, AttributeCodec> CODECS = Map.of(
+            GUID, stringCodec(Utils::convertObjectGUIDToString),
+            SID, stringCodec(Utils::convertObjectSidToString),
+            BASE64, stringCodec(Base64::encode),
+            BINARY, AttributeCodecRegistry::toBinary,
+            STRING, attribute -> toStrings(attribute.getValues())
+    );
+
+    /**
+     * The registry used when the values are not converted with the configurations of a client.
+     */
+    static final AttributeCodecRegistry DEFAULT = new AttributeCodecRegistry(Map.of(), false, null);
+
+    private final Map<String, AttributeCodec> codecs = new HashMap<>();
+    private final AttributeCodec binaryCodec;
+    private final SchemaDecoder schemaDecoder;
+
+    /**
+     * Creates a registry with the codecs of the {@code objectGUID} and {@code objectSid} attributes, overridden
+     * by the given codecs. The codecs of {@code objectGUID} and {@code objectSid} convert only binary values, so
+     * the values stored as strings by a directory are kept as strings.
+     *
+     * @param codecNames       the names of the codecs of the attributes
+     * @param binaryAttributes whether the values of binary attributes are converted to {@code byte[]} instead of
+     *                         Base64 encoded strings
+     * @param schemaDecoder    the decoder of the attribute values based on the schema, or {@code null}
+     */
+    AttributeCodecRegistry(Map<String, String> codecNames, boolean binaryAttributes, SchemaDecoder schemaDecoder) {
+        register(OBJECT_GUID, binaryOnly(CODECS.get(GUID)));
+        register(OBJECT_SID, binaryOnly(CODECS.get(SID)));
+        codecNames.forEach((attributeName, codecName) -> register(attributeName, CODECS.get(codecName)));
+        this.binaryCodec = CODECS.get(binaryAttributes ? BINARY : BASE64);
+        this.schemaDecoder = schemaDecoder;
+    }
+
+    static AttributeCodecRegistry fromConfig(BMap<BString, Object> codecConfig, boolean binaryAttributes,
+                                             SchemaDecoder schemaDecoder) {
+        Map<String, String> codecNames = new HashMap<>();
+        for (BString attributeName : codecConfig.getKeys()) {
+            codecNames.put(attributeName.getValue(), codecConfig.getStringValue(attributeName).getValue());
+        }
+        return new AttributeCodecRegistry(codecNames, binaryAttributes, schemaDecoder);
+    }
+
+    /**
+     * Converts the values of an attribute. An attribute with a single value is converted to a single value, and an
+     * attribute with multiple values is converted to an array, unless the schema defines otherwise.
+     */
+    Object decode(Attribute attribute) {
+        AttributeCodec codec = codecs.get(attribute.getBaseName().toLowerCase(Locale.ROOT));
+        if (Objects.nonNull(codec)) {
+            return codec.decode(attribute);
+        }
+        if (Objects.nonNull(schemaDecoder)) {
+            Object value = schemaDecoder.decode(attribute);
+            if (Objects.nonNull(value)) {
+                return value;
+            }
+        }
+        if (attribute.needsBase64Encoding()) {
+            return binaryCodec.decode(attribute);
+        }
+        return toStrings(attribute.getValues());
+    }
+
+    private void register(String attributeName, AttributeCodec codec) {
+        codecs.put(attributeName.toLowerCase(Locale.ROOT), codec);
+    }
+
+    private static AttributeCodec binaryOnly(AttributeCodec codec) {
+        return attribute -> attribute.needsBase64Encoding() ? codec.decode(attribute)
+                : toStrings(attribute.getValues());
+    }
+
+    private static AttributeCodec stringCodec(Function<byte[], String> converter) {
+        return attribute -> toStrings(Arrays.stream(attribute.getValueByteArrays()).map(converter)
+                .toArray(String[]::new));
+    }
+
+    private static Object toStrings(String[] values) {
+        if (values.length == 1) {
+            return StringUtils.fromString(values[0]);
+        }
+        return ValueCreator.createArrayValue(Arrays.stream(values).map(StringUtils::fromString)
+                .toArray(BString[]::new));
+    }
+
+    private static Object toBinary(Attribute attribute) {
+        byte[][] values = attribute.getValueByteArrays();
+        if (values.length == 1) {
+            return ValueCreator.createArrayValue(values[0]);
+        }
+        return ValueCreator.createArrayValue(Arrays.stream(values).map(ValueCreator::createArrayValue).toArray(),
+                BYTE_ARRAY_ARRAY_TYPE);
+    }
+
+    /**
+     * Converts the values of an attribute to a Ballerina value.
+     */
+    @FunctionalInterface
+    interface AttributeCodec {
+        Object decode(Attribute attribute);
+    }
+}
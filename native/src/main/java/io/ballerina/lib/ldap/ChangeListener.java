@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.ChangeLogEntry;
+import com.unboundid.ldap.sdk.DN;
+import com.unboundid.ldap.sdk.Filter;
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPConnectionOptions;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.RootDSE;
+import com.unboundid.ldap.sdk.SearchRequest;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchScope;
+import com.unboundid.ldap.sdk.controls.EntryChangeNotificationControl;
+import com.unboundid.ldap.sdk.controls.PersistentSearchChangeType;
+import com.unboundid.ldap.sdk.controls.PersistentSearchRequestControl;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.concurrent.StrandMetadata;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.RemoteMethodType;
+import io.ballerina.runtime.api.types.ServiceType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.SocketFactory;
+
+import static io.ballerina.lib.ldap.Client.CLIENT_SECURE_SOCKET;
+import static io.ballerina.lib.ldap.Client.DOMAIN_NAME;
+import static io.ballerina.lib.ldap.Client.HOST_NAME;
+import static io.ballerina.lib.ldap.Client.PASSWORD;
+import static io.ballerina.lib.ldap.Client.PORT;
+import static io.ballerina.lib.ldap.Client.processAttribute;
+import static io.ballerina.lib.ldap.Utils.getSearchScope;
+import static io.ballerina.lib.ldap.Utils.getTimeInMillis;
+
+/**
+ * Delivers the changes made to the entries under a base DN to the services attached to an `ldap:Listener`.
+ * The changes are received either through a persistent search, or by polling the changelog of the server.
+ * The changes are delivered to the services one at a time, in the order they are received. When the connection
+ * is lost or the server ends the persistent search, the listener reconnects with an exponential backoff.
+ */
+public final class ChangeListener {
+    public static final String NATIVE_LISTENER = "listener";
+    public static final String CHANGE_EVENT = "ChangeEvent";
+    public static final String CHANGELOG_MODE = "CHANGELOG";
+    public static final String CHANGELOG_BASE_DN = "cn=changelog";
+    public static final String LAST_CHANGE_NUMBER = "lastChangeNumber";
+    public static final String LISTENER_NOT_STARTED_ERROR = "LDAP listener has not been started";
+    public static final String PERSISTENT_SEARCH_NOT_SUPPORTED_ERROR =
+            "The directory server does not support the persistent search control";
+    public static final String CHANGELOG_NOT_SUPPORTED_ERROR = "The directory server does not provide a changelog";
+    public static final String PERSISTENT_SEARCH_ENDED_ERROR = "The persistent search was ended by the server: ";
+    public static final String CHANGE_DELIVERY_ERROR = "Failed to deliver the LDAP change event: ";
+    public static final String RECONNECT_ERROR = "Failed to receive the LDAP changes, reconnecting in %d ms: %s";
+
+    public static final BString BASE_DN = StringUtils.fromString("baseDn");
+    public static final BString SCOPE = StringUtils.fromString("scope");
+    public static final BString FILTER = StringUtils.fromString("filter");
+    public static final BString MODE = StringUtils.fromString("mode");
+    public static final BString POLLING_INTERVAL = StringUtils.fromString("pollingInterval");
+    public static final BString CHANGE_TYPE = StringUtils.fromString("changeType");
+    public static final BString PREVIOUS_DN = StringUtils.fromString("previousDn");
+    public static final BString CHANGE_NUMBER = StringUtils.fromString("changeNumber");
+
+    private static final long INITIAL_RECONNECT_DELAY = 1000;
+    private static final long MAX_RECONNECT_DELAY = 60_000;
+    /**
+     * The time a graceful stop waits for the changes being delivered, in milliseconds.
+     */
+    private static final long GRACEFUL_STOP_TIMEOUT = 30_000;
+
+    private final String hostName;
+    private final int port;
+    private final String domainName;
+    private final String password;
+    private final BMap<BString, Object> secureSocketConfig;
+    private final String baseDn;
+    private final SearchScope scope;
+    private final Filter filter;
+    private final boolean isChangelogMode;
+    private final long pollingInterval;
+    private final List<BObject> services = new CopyOnWriteArrayList<>();
+    private Runtime runtime;
+    private volatile LDAPConnection ldapConnection;
+    private volatile AsyncRequestID persistentSearchId;
+    private volatile ExecutorService dispatcher;
+    private volatile ScheduledExecutorService scheduler;
+    private long lastChangeNumber;
+    private long reconnectDelay = INITIAL_RECONNECT_DELAY;
+    private volatile boolean isStopped = false;
+
+    private ChangeListener(BMap<BString, Object> config, Filter filter) {
+        this.hostName = config.getStringValue(HOST_NAME).getValue();
+        this.port = Math.toIntExact(config.getIntValue(PORT));
+        this.domainName = config.getStringValue(DOMAIN_NAME).getValue();
+        this.password = config.getStringValue(PASSWORD).getValue();
+        this.secureSocketConfig = (BMap<BString, Object>) config.getMapValue(CLIENT_SECURE_SOCKET);
+        this.baseDn = config.getStringValue(BASE_DN).getValue();
+        this.scope = getSearchScope(config.getStringValue(SCOPE));
+        this.filter = filter;
+        this.isChangelogMode = config.getStringValue(MODE).getValue().equals(CHANGELOG_MODE);
+        this.pollingInterval = getTimeInMillis(config.get(POLLING_INTERVAL));
+    }
+
+    public static Object initListener(BObject listener, BMap<BString, Object> config) {
+        try {
+            new DN(config.getStringValue(BASE_DN).getValue());
+            Filter filter = Filter.create(config.getStringValue(FILTER).getValue());
+            listener.addNativeData(NATIVE_LISTENER, new ChangeListener(config, filter));
+        } catch (LDAPException e) {
+            return Utils.createError(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    public static Object attach(BObject listener, BObject service, Object name) {
+        ChangeListener changeListener = (ChangeListener) listener.getNativeData(NATIVE_LISTENER);
+        changeListener.services.add(service);
+        return null;
+    }
+
+    public static Object detach(BObject listener, BObject service) {
+        ChangeListener changeListener = (ChangeListener) listener.getNativeData(NATIVE_LISTENER);
+        changeListener.services.remove(service);
+        return null;
+    }
+
+    public static Object start(Environment env, BObject listener) {
+        ChangeListener changeListener = (ChangeListener) listener.getNativeData(NATIVE_LISTENER);
+        changeListener.runtime = env.getRuntime();
+        return env.yieldAndRun(() -> {
+            try {
+                changeListener.connect();
+                changeListener.scheduler = Executors.newSingleThreadScheduledExecutor();
+                if (changeListener.isChangelogMode) {
+                    changeListener.startPolling();
+                } else {
+                    changeListener.dispatcher = Executors.newSingleThreadExecutor();
+                    changeListener.startPersistentSearch();
+                }
+            } catch (LDAPException e) {
+                changeListener.stop();
+                return Utils.createError(e.getMessage(), e);
+            } catch (GeneralSecurityException e) {
+                changeListener.stop();
+                return Utils.createError(e.getMessage(), e);
+            }
+            return null;
+        });
+    }
+
+    public static Object gracefulStop(Environment env, BObject listener) {
+        ChangeListener changeListener = (ChangeListener) listener.getNativeData(NATIVE_LISTENER);
+        return env.yieldAndRun(() -> {
+            changeListener.isStopped = true;
+            // The scheduler delivers the changes of the changelog, so it is awaited along with the dispatcher.
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(GRACEFUL_STOP_TIMEOUT);
+            try {
+                awaitTermination(changeListener.scheduler, deadline);
+                awaitTermination(changeListener.dispatcher, deadline);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            changeListener.closeConnection();
+            return null;
+        });
+    }
+
+    public static Object immediateStop(BObject listener) {
+        ChangeListener changeListener = (ChangeListener) listener.getNativeData(NATIVE_LISTENER);
+        changeListener.stop();
+        return null;
+    }
+
+    private static void awaitTermination(ExecutorService executor, long deadline) throws InterruptedException {
+        if (Objects.nonNull(executor)) {
+            executor.shutdown();
+            executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void connect() throws LDAPException, GeneralSecurityException {
+        LDAPConnectionOptions connectionOptions = new LDAPConnectionOptions();
+        SocketFactory socketFactory = Client.createSocketFactory(secureSocketConfig, connectionOptions);
+        ldapConnection = new LDAPConnection(socketFactory, connectionOptions, hostName, port, domainName, password);
+    }
+
+    private void startPersistentSearch() throws LDAPException {
+        RootDSE rootDSE = ldapConnection.getRootDSE();
+        if (Objects.nonNull(rootDSE)
+                && !rootDSE.supportsControl(PersistentSearchRequestControl.PERSISTENT_SEARCH_REQUEST_OID)) {
+            throw new LDAPException(ResultCode.UNAVAILABLE_CRITICAL_EXTENSION, PERSISTENT_SEARCH_NOT_SUPPORTED_ERROR);
+        }
+        SearchRequest searchRequest = new SearchRequest(
+                new CustomPersistentSearchListener(this::onPersistentSearchEntry, this::onPersistentSearchResult),
+                baseDn, scope, filter);
+        searchRequest.addControl(new PersistentSearchRequestControl(PersistentSearchChangeType.allChangeTypes(),
+                true, true));
+        persistentSearchId = ldapConnection.asyncSearch(searchRequest);
+    }
+
+    private void onPersistentSearchEntry(SearchResultEntry searchEntry) {
+        String changeType = PersistentSearchChangeType.MODIFY.name();
+        String previousDn = null;
+        long changeNumber = -1;
+        try {
+            EntryChangeNotificationControl control = EntryChangeNotificationControl.get(searchEntry);
+            if (Objects.nonNull(control)) {
+                changeType = control.getChangeType().name();
+                previousDn = control.getPreviousDN();
+                changeNumber = control.getChangeNumber();
+            }
+        } catch (LDAPException e) {
+            printError(CHANGE_DELIVERY_ERROR + e.getMessage(), e);
+            return;
+        }
+        Change change = new Change(changeType, searchEntry.getDN(), previousDn, searchEntry.getAttributes(),
+                changeNumber);
+        execute(dispatcher, () -> dispatch(change));
+    }
+
+    private void onPersistentSearchResult(SearchResult searchResult) {
+        execute(scheduler, () -> retry(PERSISTENT_SEARCH_ENDED_ERROR + searchResult.getResultCode()));
+    }
+
+    /**
+     * Runs a task on an executor of the listener, unless the listener is stopping.
+     */
+    private void execute(ExecutorService executor, Runnable task) {
+        if (isStopped || executor.isShutdown()) {
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // The listener was stopped after it was checked, so the task is no longer needed.
+        }
+    }
+
+    private void schedule(Runnable task, long delay) {
+        if (isStopped || scheduler.isShutdown()) {
+            return;
+        }
+        try {
+            scheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The listener was stopped after it was checked, so the task is no longer needed.
+        }
+    }
+
+    private void startPolling() throws LDAPException {
+        SearchResultEntry rootDSE = ldapConnection.getEntry("", LAST_CHANGE_NUMBER);
+        if (Objects.isNull(rootDSE) || !rootDSE.hasAttribute(LAST_CHANGE_NUMBER)) {
+            throw new LDAPException(ResultCode.UNWILLING_TO_PERFORM, CHANGELOG_NOT_SUPPORTED_ERROR);
+        }
+        lastChangeNumber = rootDSE.getAttributeValueAsLong(LAST_CHANGE_NUMBER);
+        schedule(this::poll, pollingInterval);
+    }
+
+    /**
+     * Delivers the changes recorded in the changelog since the last change delivered, and schedules the next poll.
+     * A change is only marked as delivered once it is dispatched, so that the changes are resumed from the first
+     * change not delivered when a poll fails.
+     */
+    private void poll() {
+        if (isStopped) {
+            return;
+        }
+        try {
+            Filter changeFilter = Filter.createGreaterOrEqualFilter(ChangeLogEntry.ATTR_CHANGE_NUMBER,
+                    String.valueOf(lastChangeNumber + 1));
+            SearchResult searchResult = ldapConnection.search(CHANGELOG_BASE_DN, SearchScope.ONE, changeFilter);
+            List<ChangeLogEntry> changeLogEntries = new ArrayList<>();
+            for (SearchResultEntry searchEntry : searchResult.getSearchEntries()) {
+                changeLogEntries.add(new ChangeLogEntry(searchEntry));
+            }
+            changeLogEntries.sort(Comparator.comparingLong(ChangeLogEntry::getChangeNumber));
+            for (ChangeLogEntry changeLogEntry : changeLogEntries) {
+                if (isStopped) {
+                    return;
+                }
+                Change change = toChange(changeLogEntry);
+                if (Objects.nonNull(change)) {
+                    dispatch(change);
+                }
+                lastChangeNumber = changeLogEntry.getChangeNumber();
+            }
+        } catch (LDAPException e) {
+            retry(e.getMessage());
+            return;
+        }
+        reconnectDelay = INITIAL_RECONNECT_DELAY;
+        schedule(this::poll, pollingInterval);
+    }
+
+    /**
+     * Schedules a new connection to resume receiving the changes, doubling the delay before each attempt up to
+     * {@link #MAX_RECONNECT_DELAY}. This is always run by the scheduler of the listener.
+     */
+    private void retry(String reason) {
+        if (isStopped) {
+            return;
+        }
+        printError(String.format(RECONNECT_ERROR, reconnectDelay, reason), null);
+        schedule(this::reconnect, reconnectDelay);
+        reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY);
+    }
+
+    /**
+     * Replaces the connection and resumes receiving the changes. With the changelog, the changes are resumed from
+     * the last change delivered, whereas a persistent search only receives the changes made after it is started.
+     */
+    private void reconnect() {
+        if (isStopped) {
+            return;
+        }
+        closeConnection();
+        try {
+            connect();
+            if (isChangelogMode) {
+                poll();
+            } else {
+                startPersistentSearch();
+                reconnectDelay = INITIAL_RECONNECT_DELAY;
+            }
+        } catch (LDAPException | GeneralSecurityException e) {
+            retry(e.getMessage());
+        }
+    }
+
+    /**
+     * Converts a changelog entry to a change, reading the current state of the changed entry from the server
+     * since the changelog only records the modifications made to it.
+     *
+     * @return the change, or {@code null} if the changed entry is not within the scope of the listener
+     */
+    private Change toChange(ChangeLogEntry changeLogEntry) throws LDAPException {
+        String dN = changeLogEntry.getTargetDN();
+        String previousDn = null;
+        List<Attribute> attributes = null;
+        String changeType;
+        switch (changeLogEntry.getChangeType()) {
+            case ADD -> {
+                changeType = PersistentSearchChangeType.ADD.name();
+                attributes = changeLogEntry.getAddAttributes();
+            }
+            case DELETE -> {
+                changeType = PersistentSearchChangeType.DELETE.name();
+                attributes = changeLogEntry.getDeletedEntryAttributes();
+            }
+            case MODIFY_DN -> {
+                changeType = PersistentSearchChangeType.MODIFY_DN.name();
+                previousDn = dN;
+                dN = changeLogEntry.getNewDN();
+            }
+            default -> changeType = PersistentSearchChangeType.MODIFY.name();
+        }
+        if (!new DN(dN).matchesBaseAndScope(baseDn, scope)) {
+            return null;
+        }
+        if (Objects.isNull(attributes) && !changeType.equals(PersistentSearchChangeType.DELETE.name())) {
+            SearchResultEntry searchEntry = ldapConnection.getEntry(dN);
+            attributes = Objects.isNull(searchEntry) ? null : List.copyOf(searchEntry.getAttributes());
+        }
+        return new Change(changeType, dN, previousDn, attributes, changeLogEntry.getChangeNumber());
+    }
+
+    private void dispatch(Change change) {
+        for (BObject service : services) {
+            String methodName = change.getMethodName();
+            if (!hasRemoteMethod(service, methodName)) {
+                continue;
+            }
+            try {
+                Object result = runtime.callMethod(service, methodName, new StrandMetadata(false, null),
+                        change.toChangeEvent());
+                if (result instanceof BError error) {
+                    printError(CHANGE_DELIVERY_ERROR + error.getMessage(), error);
+                }
+            } catch (BError error) {
+                printError(CHANGE_DELIVERY_ERROR + error.getMessage(), error);
+            }
+        }
+    }
+
+    private static boolean hasRemoteMethod(BObject service, String methodName) {
+        ServiceType serviceType = (ServiceType) TypeUtils.getType(service);
+        return Arrays.stream(serviceType.getRemoteMethods()).map(RemoteMethodType::getName)
+                .anyMatch(methodName::equals);
+    }
+
+    /**
+     * Prints an error that cannot be returned to the caller, in the same format as an unhandled Ballerina error.
+     */
+    private static void printError(String message, Throwable cause) {
+        Utils.createError(message, cause).printStackTrace();
+    }
+
+    /**
+     * Stops the listener immediately, interrupting the change being delivered.
+     */
+    private void stop() {
+        isStopped = true;
+        if (Objects.nonNull(scheduler)) {
+            scheduler.shutdownNow();
+        }
+        if (Objects.nonNull(dispatcher)) {
+            dispatcher.shutdownNow();
+        }
+        closeConnection();
+    }
+
+    private void closeConnection() {
+        LDAPConnection connection = ldapConnection;
+        if (Objects.isNull(connection)) {
+            return;
+        }
+        AsyncRequestID searchId = persistentSearchId;
+        persistentSearchId = null;
+        if (Objects.nonNull(searchId) && connection.isConnected()) {
+            try {
+                connection.abandon(searchId);
+            } catch (LDAPException e) {
+                // The connection is closed regardless of whether the search was abandoned.
+            }
+        }
+        connection.close();
+    }
+
+    /**
+     * Represents a change made to an entry, which is converted to an `ldap:ChangeEvent` for each service.
+     */
+    private record Change(String changeType, String dN, String previousDn, Iterable<Attribute> attributes,
+                          long changeNumber) {
+
+        String getMethodName() {
+            return switch (changeType) {
+                case "ADD" -> "onAdd";
+                case "DELETE" -> "onDelete";
+                case "MODIFY_DN" -> "onModifyDn";
+                default -> "onModify";
+            };
+        }
+
+        BMap<BString, Object> toChangeEvent() {
+            BMap<BString, Object> changeEvent = ValueCreator.createRecordValue(ModuleUtils.getModule(), CHANGE_EVENT);
+            changeEvent.put(CHANGE_TYPE, StringUtils.fromString(changeType));
+            changeEvent.put(Client.DN, StringUtils.fromString(dN));
+            if (Objects.nonNull(previousDn)) {
+                changeEvent.put(PREVIOUS_DN, StringUtils.fromString(previousDn));
+            }
+            if (Objects.nonNull(attributes)) {
+                BMap<BString, Object> entry = Utils.createEntryRecord();
+                for (Attribute attribute : attributes) {
+                    processAttribute(attribute, entry);
+                }
+                changeEvent.put(Client.ENTRY, entry);
+            }
+            if (changeNumber >= 0) {
+                changeEvent.put(CHANGE_NUMBER, changeNumber);
+            }
+            return changeEvent;
+        }
+    }
+}
@@ -19,24 +19,40 @@
 package io.ballerina.lib.ldap;
 
 import com.unboundid.ldap.sdk.AddRequest;
+import com.unboundid.ldap.sdk.AsyncSearchResultListener;
 import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.BindRequest;
 import com.unboundid.ldap.sdk.CompareRequest;
+import com.unboundid.ldap.sdk.DN;
 import com.unboundid.ldap.sdk.DeleteRequest;
 import com.unboundid.ldap.sdk.Entry;
+import com.unboundid.ldap.sdk.FailoverServerSet;
+import com.unboundid.ldap.sdk.FastestConnectServerSet;
+import com.unboundid.ldap.sdk.FewestConnectionsServerSet;
+import com.unboundid.ldap.sdk.Filter;
+import com.unboundid.ldap.sdk.GetEntryLDAPConnectionPoolHealthCheck;
 import com.unboundid.ldap.sdk.LDAPConnection;
 import com.unboundid.ldap.sdk.LDAPConnectionOptions;
+import com.unboundid.ldap.sdk.LDAPConnectionPool;
 import com.unboundid.ldap.sdk.LDAPException;
 import com.unboundid.ldap.sdk.LDAPResult;
 import com.unboundid.ldap.sdk.Modification;
 import com.unboundid.ldap.sdk.ModificationType;
 import com.unboundid.ldap.sdk.ModifyDNRequest;
 import com.unboundid.ldap.sdk.ModifyRequest;
+import com.unboundid.ldap.sdk.RDN;
 import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.RoundRobinServerSet;
 import com.unboundid.ldap.sdk.SearchRequest;
+import com.unboundid.ldap.sdk.SearchResult;
 import com.unboundid.ldap.sdk.SearchResultEntry;
-import com.unboundid.ldap.sdk.SearchResultListener;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.unboundid.ldap.sdk.ServerSet;
+import com.unboundid.ldap.sdk.SimpleBindRequest;
+import com.unboundid.ldap.sdk.SingleServerSet;
+import com.unboundid.ldap.sdk.schema.Schema;
 import com.unboundid.util.Base64;
+import com.unboundid.util.StaticUtils;
 import com.unboundid.util.ssl.AggregateTrustManager;
 import com.unboundid.util.ssl.HostNameSSLSocketVerifier;
 import com.unboundid.util.ssl.JVMDefaultTrustManager;
@@ -45,18 +61,26 @@ import com.unboundid.util.ssl.SSLUtil;
 import com.unboundid.util.ssl.TrustStoreTrustManager;
 import io.ballerina.lib.ldap.ssl.SSLConfig;
 import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.types.UnionType;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
-import io.ballerina.runtime.api.utils.ValueUtils;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.observability.ObserveUtils;
 
+import java.math.BigDecimal;
 import java.security.GeneralSecurityException;
 import java.security.KeyStoreException;
 import java.util.ArrayList;
@@ -65,16 +89,27 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import javax.net.SocketFactory;
 
-import static com.unboundid.ldap.sdk.ResultCode.NO_SUCH_OBJECT;
 import static com.unboundid.ldap.sdk.ResultCode.OTHER;
+import static io.ballerina.lib.ldap.AttributeCodecRegistry.NATIVE_CODEC_REGISTRY;
+import static io.ballerina.lib.ldap.ClientMetrics.NATIVE_METRICS;
+import static io.ballerina.lib.ldap.EntryCache.NATIVE_CACHE;
+import static io.ballerina.lib.ldap.GroupResolver.NATIVE_GROUP_RESOLVER;
+import static io.ballerina.lib.ldap.SchemaDecoder.SCHEMA_NOT_AVAILABLE_ERROR;
+import static io.ballerina.lib.ldap.SearchCoalescer.NATIVE_COALESCER;
+import static io.ballerina.lib.ldap.SearchResultIterator.NATIVE_ITERATOR;
+import static io.ballerina.lib.ldap.SearchResultIterator.SEARCH_RESULT_ITERATOR;
 import static io.ballerina.lib.ldap.Utils.ENTRY_NOT_FOUND;
 import static io.ballerina.lib.ldap.Utils.LDAP_CONNECTION_CLOSED_ERROR;
-import static io.ballerina.lib.ldap.Utils.convertObjectGUIDToString;
-import static io.ballerina.lib.ldap.Utils.convertObjectSidToString;
 import static io.ballerina.lib.ldap.Utils.convertToBArray;
-import static io.ballerina.lib.ldap.Utils.convertToStringArray;
+import static io.ballerina.lib.ldap.Utils.getAttributeNames;
 import static io.ballerina.lib.ldap.Utils.getSearchScope;
+import static io.ballerina.lib.ldap.Utils.getTimeInMillis;
 
 /**
  * This class handles APIs of the LDAP client.
@@ -88,12 +123,53 @@ public final class Client {
     public static final BString DOMAIN_NAME = StringUtils.fromString("domainName");
     public static final BString PASSWORD = StringUtils.fromString("password");
     public static final BString CLIENT_SECURE_SOCKET = StringUtils.fromString("clientSecureSocket");
+    public static final BString CONNECTION_POOL = StringUtils.fromString("connectionPool");
+    public static final BString AUTHENTICATION_POOL = StringUtils.fromString("authenticationPool");
+    public static final BString READ_REPLICAS = StringUtils.fromString("readReplicas");
+    public static final BString SERVERS = StringUtils.fromString("servers");
+    public static final BString SERVER_SELECTION = StringUtils.fromString("serverSelection");
+    public static final BString CACHE = StringUtils.fromString("cache");
+    public static final BString COALESCE_READS = StringUtils.fromString("coalesceReads");
+    public static final BString COLLECT_METRICS = StringUtils.fromString("collectMetrics");
+    public static final BString SCHEMA_AWARE_DECODING = StringUtils.fromString("schemaAwareDecoding");
+    public static final BString BINARY_ATTRIBUTES = StringUtils.fromString("binaryAttributes");
+    public static final BString ATTRIBUTE_CODECS = StringUtils.fromString("attributeCodecs");
+    public static final String CONNECTION_POOL_CONFIG = "ConnectionPoolConfig";
+    public static final String FEWEST_CONNECTIONS = "FEWEST_CONNECTIONS";
+    public static final String FASTEST_CONNECT = "FASTEST_CONNECT";
+    public static final String FAILOVER = "FAILOVER";
     public static final String NATIVE_CLIENT = "client";
     public static final String LDAP_RESPONSE = "LdapResponse";
     public static final BString REFERRAL = StringUtils.fromString("referral");
     public static final BString OPERATION_TYPE = StringUtils.fromString("operationType");
     public static final String OBJECT_GUID = "objectGUID";
     public static final String OBJECT_SID = "objectSid";
+    public static final String OBJECT_CLASS = "objectClass";
+    public static final BString DN = StringUtils.fromString("dN");
+    public static final BString ENTRY = StringUtils.fromString("entry");
+    public static final BString ATTRIBUTE_NAME = StringUtils.fromString("attributeName");
+    public static final BString MODIFICATION_TYPE = StringUtils.fromString("modificationType");
+    public static final BString VALUES = StringUtils.fromString("values");
+    public static final String ADD_VALUES = "ADD_VALUES";
+    public static final String DELETE_VALUES = "DELETE_VALUES";
+    public static final String REPLACE_VALUES = "REPLACE_VALUES";
+    public static final String INCREMENT = "INCREMENT";
+    public static final String MISSING_MODIFICATION_VALUES_ERROR = "Values are required for the %s modification "
+            + "of attribute '%s'";
+    public static final String UNSUPPORTED_MODIFICATION_TYPE_ERROR = "Unsupported modification type: %s";
+
+    //Connection pool config
+    private static final BString INITIAL_CONNECTIONS = StringUtils.fromString("initialConnections");
+    private static final BString MAX_CONNECTIONS = StringUtils.fromString("maxConnections");
+    private static final BString MAX_WAIT_TIME = StringUtils.fromString("maxWaitTime");
+    private static final BString MAX_CONNECTION_AGE = StringUtils.fromString("maxConnectionAge");
+    private static final BString HEALTH_CHECK_INTERVAL = StringUtils.fromString("healthCheckInterval");
+    private static final long HEALTH_CHECK_MAX_RESPONSE_TIME = 10000;
+
+    //Cache config
+    private static final BString CAPACITY = StringUtils.fromString("capacity");
+    private static final BString TIME_TO_LIVE = StringUtils.fromString("timeToLive");
+    private static final BString NOT_FOUND_TIME_TO_LIVE = StringUtils.fromString("notFoundTimeToLive");
 
     //Socket config
     private static final BString SECURE_SOCKET_CONFIG_ENABLE_TLS = StringUtils.fromString("enable");
@@ -110,6 +186,8 @@ public final class Client {
     public static final String EMPTY_TRUST_STORE_PASSWORD_ERROR = "Truststore password cannot be empty";
     public static final String EMPTY_CERTIFICATE_FILE_PATH_ERROR = "Certificate file path cannot be empty";
 
+    private static ArrayType resultArrayType = null;
+
     private Client() {
     }
 
@@ -120,37 +198,198 @@ public final class Client {
         String password = ((BString) config.get(PASSWORD)).getValue();
         BMap<BString, Object> secureSocketConfig = (BMap<BString, Object>) config 
                 .getMapValue(CLIENT_SECURE_SOCKET);
+        BMap<BString, Object> connectionPoolConfig = (BMap<BString, Object>) config.getMapValue(CONNECTION_POOL);
+        BArray readReplicas = config.getArrayValue(READ_REPLICAS);
+        BArray servers = config.getArrayValue(SERVERS);
+        String serverSelection = config.getStringValue(SERVER_SELECTION).getValue();
+        BMap<BString, Object> cacheConfig = (BMap<BString, Object>) config.getMapValue(CACHE);
+        BMap<BString, Object> authenticationPoolConfig = Objects.nonNull(config.getMapValue(AUTHENTICATION_POOL))
+                ? (BMap<BString, Object>) config.getMapValue(AUTHENTICATION_POOL)
+                : ValueCreator.createRecordValue(ModuleUtils.getModule(), CONNECTION_POOL_CONFIG);
+        if (Objects.nonNull(cacheConfig)) {
+            BError cacheConfigError = EntryCache.validateConfig(cacheConfig.getIntValue(CAPACITY),
+                    (BDecimal) cacheConfig.get(TIME_TO_LIVE), (BDecimal) cacheConfig.get(NOT_FOUND_TIME_TO_LIVE));
+            if (Objects.nonNull(cacheConfigError)) {
+                return cacheConfigError;
+            }
+        }
+        if ((Objects.nonNull(readReplicas) || Objects.nonNull(servers)) && Objects.isNull(connectionPoolConfig)) {
+            connectionPoolConfig = ValueCreator.createRecordValue(ModuleUtils.getModule(), CONNECTION_POOL_CONFIG);
+        }
         try {
-            if (Objects.nonNull(secureSocketConfig) && isClientSecurityConfigured(secureSocketConfig)) {
-                SSLConfig sslConfig = populateSSLConfig(secureSocketConfig);
-                AggregateTrustManager trustManager = buildAggregatedTrustManager(sslConfig);
+            LDAPConnectionOptions connectionOptions = new LDAPConnectionOptions();
+            SocketFactory socketFactory = createSocketFactory(secureSocketConfig, connectionOptions);
+            ServerSet serverSet;
+            if (Objects.nonNull(servers)) {
+                String[] hostNames = new String[servers.size() + 1];
+                int[] ports = new int[servers.size() + 1];
+                hostNames[0] = hostName;
+                ports[0] = port;
+                System.arraycopy(getHostNames(servers), 0, hostNames, 1, servers.size());
+                System.arraycopy(getPorts(servers), 0, ports, 1, servers.size());
+                serverSet = createServerSet(serverSelection, hostNames, ports, socketFactory, connectionOptions,
+                        getTimeInMillis(connectionPoolConfig.get(HEALTH_CHECK_INTERVAL)));
+            } else {
+                serverSet = new SingleServerSet(hostName, port, socketFactory, connectionOptions);
+            }
+            if (Objects.nonNull(readReplicas)) {
+                BindRequest bindRequest = new SimpleBindRequest(domainName, password);
+                LDAPConnectionPool writePool = createConnectionPool(serverSet, bindRequest, connectionPoolConfig);
+                LDAPConnectionPool readPool;
+                try {
+                    ServerSet readServerSet = createServerSet(serverSelection, getHostNames(readReplicas),
+                            getPorts(readReplicas), socketFactory, connectionOptions,
+                            getTimeInMillis(connectionPoolConfig.get(HEALTH_CHECK_INTERVAL)));
+                    readPool = createConnectionPool(readServerSet, bindRequest, connectionPoolConfig);
+                } catch (LDAPException e) {
+                    writePool.close();
+                    throw e;
+                }
+                ldapClient.addNativeData(NATIVE_CLIENT, new ConnectionManager(writePool, readPool));
+            } else if (Objects.nonNull(connectionPoolConfig)) {
+                LDAPConnectionPool connectionPool = createConnectionPool(serverSet,
+                        new SimpleBindRequest(domainName, password), connectionPoolConfig);
+                ldapClient.addNativeData(NATIVE_CLIENT, new ConnectionManager(connectionPool));
+            } else {
+                LDAPConnection ldapConnection = new LDAPConnection(socketFactory, connectionOptions,
+                        hostName, port, domainName, password);
+                ldapClient.addNativeData(NATIVE_CLIENT, new ConnectionManager(ldapConnection));
+            }
+            ServerSet authenticationServerSet = serverSet;
+            ((ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT)).setAuthenticationPoolFactory(() ->
+                    createConnectionPool(authenticationServerSet, new SimpleBindRequest(domainName, password),
+                            authenticationPoolConfig));
+            ldapClient.addNativeData(NATIVE_GROUP_RESOLVER, new GroupResolver());
+            boolean isMetricsCollected = config.getBooleanValue(COLLECT_METRICS);
+            boolean isMetricsObserved = ObserveUtils.isMetricsEnabled();
+            if (isMetricsCollected || isMetricsObserved) {
+                ldapClient.addNativeData(NATIVE_METRICS, new ClientMetrics(isMetricsCollected, isMetricsObserved));
+            }
+            if (config.getBooleanValue(COALESCE_READS)) {
+                ldapClient.addNativeData(NATIVE_COALESCER, new SearchCoalescer());
+            }
+            if (Objects.nonNull(cacheConfig)) {
+                int capacity = Math.toIntExact(cacheConfig.getIntValue(CAPACITY));
+                ldapClient.addNativeData(NATIVE_CACHE, new EntryCache(capacity,
+                        getTimeInMillis(cacheConfig.get(TIME_TO_LIVE)),
+                        getTimeInMillis(cacheConfig.get(NOT_FOUND_TIME_TO_LIVE))));
+            }
+            SchemaDecoder schemaDecoder = null;
+            if (config.getBooleanValue(SCHEMA_AWARE_DECODING)) {
+                Object result = createSchemaDecoder(ldapClient);
+                if (result instanceof BError error) {
+                    return error;
+                }
+                schemaDecoder = (SchemaDecoder) result;
+            }
+            ldapClient.addNativeData(NATIVE_CODEC_REGISTRY, AttributeCodecRegistry.fromConfig(
+                    (BMap<BString, Object>) config.getMapValue(ATTRIBUTE_CODECS),
+                    config.getBooleanValue(BINARY_ATTRIBUTES), schemaDecoder));
+        } catch (LDAPException | GeneralSecurityException e) {
+            return Utils.createError(e.getMessage(), e);
+        }
+        return null;
+    }
 
-                SSLUtil sslUtil = new SSLUtil(trustManager);
+    private static Object createSchemaDecoder(BObject ldapClient) throws LDAPException {
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
+        LDAPConnection ldapConnection = connectionManager.getReadConnection();
+        Schema schema;
+        try {
+            schema = ldapConnection.getSchema();
+        } catch (LDAPException e) {
+            connectionManager.releaseReadConnection(ldapConnection);
+            connectionManager.close();
+            throw e;
+        }
+        connectionManager.releaseReadConnection(ldapConnection);
+        if (Objects.isNull(schema)) {
+            connectionManager.close();
+            return Utils.createError(SCHEMA_NOT_AVAILABLE_ERROR, OTHER);
+        }
+        return new SchemaDecoder(schema);
+    }
 
-                if (sslConfig.getTLSVersions().isEmpty()) {
-                    SSLUtil.setDefaultSSLProtocol(SSLUtil.SSL_PROTOCOL_TLS_1_2);
-                } else {
-                    SSLUtil.setEnabledSSLProtocols(sslConfig.getTLSVersions());
-                }
+    static AttributeCodecRegistry getCodecRegistry(BObject ldapClient) {
+        return (AttributeCodecRegistry) ldapClient.getNativeData(NATIVE_CODEC_REGISTRY);
+    }
+
+    /**
+     * Creates the socket factory for the connections to the server, configuring the given connection options
+     * to verify the server when secure communication is configured.
+     *
+     * @return the SSL socket factory, or {@code null} if secure communication is not configured
+     */
+    static SocketFactory createSocketFactory(BMap<BString, Object> secureSocketConfig,
+                                             LDAPConnectionOptions connectionOptions)
+            throws GeneralSecurityException {
+        if (Objects.isNull(secureSocketConfig) || !isClientSecurityConfigured(secureSocketConfig)) {
+            return null;
+        }
+        SSLConfig sslConfig = populateSSLConfig(secureSocketConfig);
+        AggregateTrustManager trustManager = buildAggregatedTrustManager(sslConfig);
 
-                LDAPConnectionOptions connectionOptions = new LDAPConnectionOptions();
+        SSLUtil sslUtil = new SSLUtil(trustManager);
 
-                connectionOptions.setSSLSocketVerifier(
-                        new HostNameSSLSocketVerifier(sslConfig.getVerifyHostnames()));
+        if (sslConfig.getTLSVersions().isEmpty()) {
+            SSLUtil.setDefaultSSLProtocol(SSLUtil.SSL_PROTOCOL_TLS_1_2);
+        } else {
+            SSLUtil.setEnabledSSLProtocols(sslConfig.getTLSVersions());
+        }
 
-                LDAPConnection ldapConnection = new LDAPConnection(sslUtil.createSSLSocketFactory(),
-                        connectionOptions, hostName, port, domainName, password);
+        connectionOptions.setSSLSocketVerifier(new HostNameSSLSocketVerifier(sslConfig.getVerifyHostnames()));
+        return sslUtil.createSSLSocketFactory();
+    }
 
-                ldapClient.addNativeData(NATIVE_CLIENT, ldapConnection);
+    private static LDAPConnectionPool createConnectionPool(ServerSet serverSet, BindRequest bindRequest,
+                                                           BMap<BString, Object> poolConfig) throws LDAPException {
+        int initialConnections = Math.toIntExact(poolConfig.getIntValue(INITIAL_CONNECTIONS));
+        int maxConnections = Math.toIntExact(poolConfig.getIntValue(MAX_CONNECTIONS));
+        LDAPConnectionPool connectionPool = new LDAPConnectionPool(serverSet, bindRequest,
+                initialConnections, maxConnections);
+        connectionPool.setCreateIfNecessary(false);
+        connectionPool.setMaxWaitTimeMillis(getTimeInMillis(poolConfig.get(MAX_WAIT_TIME)));
+        connectionPool.setMaxConnectionAgeMillis(getTimeInMillis(poolConfig.get(MAX_CONNECTION_AGE)));
+        connectionPool.setHealthCheckIntervalMillis(getTimeInMillis(poolConfig.get(HEALTH_CHECK_INTERVAL)));
+        connectionPool.setHealthCheck(new GetEntryLDAPConnectionPoolHealthCheck(null,
+                HEALTH_CHECK_MAX_RESPONSE_TIME, false, false, false, false, true, true));
+        return connectionPool;
+    }
 
-            } else {
-                LDAPConnection ldapConnection = new LDAPConnection(hostName, port, domainName, password);
-                ldapClient.addNativeData(NATIVE_CLIENT, ldapConnection);
+    private static ServerSet createServerSet(String serverSelection, String[] hostNames, int[] ports,
+                                             SocketFactory socketFactory, LDAPConnectionOptions connectionOptions,
+                                             long recheckInterval) {
+        return switch (serverSelection) {
+            case FEWEST_CONNECTIONS -> new FewestConnectionsServerSet(hostNames, ports, socketFactory,
+                    connectionOptions, null, null, recheckInterval);
+            case FASTEST_CONNECT -> new FastestConnectServerSet(hostNames, ports, socketFactory, connectionOptions);
+            case FAILOVER -> {
+                FailoverServerSet failoverServerSet = new FailoverServerSet(hostNames, ports, socketFactory,
+                        connectionOptions);
+                failoverServerSet.setMaxFailoverConnectionAgeMillis(recheckInterval);
+                yield failoverServerSet;
             }
-        } catch (LDAPException | GeneralSecurityException e) {
-            return Utils.createError(e.getMessage(), e);
+            default -> new RoundRobinServerSet(hostNames, ports, socketFactory, connectionOptions,
+                    null, null, recheckInterval);
+        };
+    }
+
+    private static String[] getHostNames(BArray servers) {
+        String[] hostNames = new String[servers.size()];
+        for (int i = 0; i < servers.size(); i++) {
+            BMap<BString, Object> server = (BMap<BString, Object>) servers.get(i);
+            hostNames[i] = server.getStringValue(HOST_NAME).getValue();
         }
-        return null;
+        return hostNames;
+    }
+
+    private static int[] getPorts(BArray servers) {
+        int[] ports = new int[servers.size()];
+        for (int i = 0; i < servers.size(); i++) {
+            BMap<BString, Object> server = (BMap<BString, Object>) servers.get(i);
+            ports[i] = Math.toIntExact(server.getIntValue(PORT));
+        }
+        return ports;
     }
 
     private static SSLConfig populateSSLConfig(BMap<BString, Object> secureSocketConfig) {
@@ -223,174 +462,629 @@ public final class Client {
     }
 
     public static Object add(Environment env, BObject ldapClient, BString dN, BMap<BString, Object> entry) {
-        return env.yieldAndRun(() -> {
-            CompletableFuture<Object> future = new CompletableFuture<>();
-            try {
-                LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-                validateConnection(ldapConnection);
-                AddRequest addRequest = generateAddRequest(dN, entry);
-                CustomAsyncResultListener customAsyncResultListener = new CustomAsyncResultListener(future);
-                ldapConnection.asyncAdd(addRequest, customAsyncResultListener);
-                return future.get();
-            } catch (LDAPException e) {
-                return Utils.createError(e.getMessage(), e);
-            } catch (Throwable e) {
-                return Utils.createError(e.getMessage(), e);
-            }
+        Object result = executeAsync(env, ldapClient, false, "add", (ldapConnection, future) -> {
+            AddRequest addRequest = generateAddRequest(dN, entry);
+            ldapConnection.asyncAdd(addRequest, new CustomAsyncResultListener(future));
         });
+        invalidateReads(ldapClient, dN.getValue(), false);
+        return result;
     }
 
     public static Object modify(Environment env, BObject ldapClient, BString dN, BMap<BString, BString> entry) {
-        return env.yieldAndRun(() -> {
-            CompletableFuture<Object> future = new CompletableFuture<>();
-            try {
-                LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-                validateConnection(ldapConnection);
-                ModifyRequest modifyRequest = generateModifyRequest(dN, entry);
-                CustomAsyncResultListener customAsyncResultListener = new CustomAsyncResultListener(future);
-                ldapConnection.asyncModify(modifyRequest, customAsyncResultListener);
-                return future.get();
-            } catch (LDAPException e) {
-                return Utils.createError(e.getMessage(), e);
-            } catch (Throwable e) {
-                return Utils.createError(e.getMessage(), e);
+        Object result = executeAsync(env, ldapClient, false, "modify", (ldapConnection, future) -> {
+            ModifyRequest modifyRequest = generateModifyRequest(dN, entry);
+            ldapConnection.asyncModify(modifyRequest, new CustomAsyncResultListener(future));
+        });
+        invalidateReads(ldapClient, dN.getValue(), false);
+        return result;
+    }
+
+    public static Object modifyAttributes(Environment env, BObject ldapClient, BString dN, BArray modifications) {
+        List<Modification> modificationList = new ArrayList<>();
+        try {
+            for (int i = 0; i < modifications.size(); i++) {
+                modificationList.add(generateModification((BMap<BString, Object>) modifications.get(i)));
             }
+        } catch (LDAPException e) {
+            return Utils.createError(e.getMessage(), e);
+        }
+        Object result = executeAsync(env, ldapClient, false, "modifyAttributes", (ldapConnection, future) -> {
+            ModifyRequest modifyRequest = new ModifyRequest(dN.getValue(), modificationList);
+            ldapConnection.asyncModify(modifyRequest, new CustomAsyncResultListener(future));
         });
+        invalidateReads(ldapClient, dN.getValue(), false);
+        return result;
+    }
+
+    /**
+     * Updates an entry to match the given attributes. The current values of the given attributes are read from
+     * the server to which the update is sent, and only the values that differ are added or removed. The update
+     * is not sent at all if the entry already matches. The update is sent once the current values are received,
+     * so the connection is not blocked while the values are read.
+     */
+    public static Object modifyToMatch(Environment env, BObject ldapClient, BString dN, BMap<BString, Object> entry) {
+        Entry desiredEntry = generateEntry(dN, entry);
+        String[] attributeNames = desiredEntry.getAttributes().stream().map(Attribute::getName)
+                .toArray(String[]::new);
+        Object result = executeAsync(env, ldapClient, false, "modifyToMatch", (ldapConnection, future) -> {
+            CompletableFuture<SearchResult> currentEntrySearch = new CompletableFuture<>();
+            currentEntrySearch.thenAccept(searchResult -> sendModificationsToMatch(ldapConnection, searchResult,
+                    desiredEntry, attributeNames, future));
+            ldapConnection.asyncSearch(new SearchRequest(new CustomSharedSearchListener(currentEntrySearch),
+                    dN.getValue(), SearchScope.BASE, Filter.createPresenceFilter(OBJECT_CLASS), attributeNames));
+        });
+        if (Objects.nonNull(result)) {
+            invalidateReads(ldapClient, dN.getValue(), false);
+        }
+        return result;
+    }
+
+    /**
+     * Sends the modifications that make the current entry match the desired entry, completing the operation
+     * without an update if there is no difference.
+     */
+    private static void sendModificationsToMatch(LDAPConnection ldapConnection, SearchResult searchResult,
+                                                 Entry desiredEntry, String[] attributeNames,
+                                                 CompletableFuture<Object> future) {
+        String dN = desiredEntry.getDN();
+        if (searchResult.getResultCode().equals(ResultCode.NO_SUCH_OBJECT) || searchResult.getEntryCount() == 0) {
+            future.complete(Utils.createError(String.format(ENTRY_NOT_FOUND, dN), ResultCode.NO_SUCH_OBJECT));
+            return;
+        }
+        if (!searchResult.getResultCode().equals(ResultCode.SUCCESS)) {
+            LDAPException ldapException = new LDAPException(searchResult);
+            future.complete(Utils.createError(ldapException.getMessage(), ldapException));
+            return;
+        }
+        List<Modification> modifications = Entry.diff(searchResult.getSearchEntries().get(0), desiredEntry, true,
+                true, true, attributeNames);
+        if (modifications.isEmpty()) {
+            future.complete(null);
+            return;
+        }
+        try {
+            ldapConnection.asyncModify(new ModifyRequest(dN, modifications), new CustomAsyncResultListener(future));
+        } catch (LDAPException e) {
+            future.complete(Utils.createError(e.getMessage(), e));
+        }
     }
 
     public static Object modifyDn(Environment env, BObject ldapClient, BString currentDn,
                                   BString newRdn, boolean deleteOldRdn) {
-        return env.yieldAndRun(() -> {
-            CompletableFuture<Object> future = new CompletableFuture<>();
-            try {
-                LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-                validateConnection(ldapConnection);
-                ModifyDNRequest modifyRequest =
-                        new ModifyDNRequest(currentDn.getValue(), newRdn.getValue(), deleteOldRdn);
-                CustomAsyncResultListener customAsyncResultListener = new CustomAsyncResultListener(future);
-                ldapConnection.asyncModifyDN(modifyRequest, customAsyncResultListener);
-                return future.get();
-            } catch (LDAPException e) {
-                return Utils.createError(e.getMessage(), e);
-            } catch (Throwable e) {
-                return Utils.createError(e.getMessage(), e);
-            }
+        Object result = executeAsync(env, ldapClient, false, "modifyDn", (ldapConnection, future) -> {
+            ModifyDNRequest modifyRequest =
+                    new ModifyDNRequest(currentDn.getValue(), newRdn.getValue(), deleteOldRdn);
+            ldapConnection.asyncModifyDN(modifyRequest, new CustomAsyncResultListener(future));
         });
+        invalidateReads(ldapClient, currentDn.getValue(), true);
+        String newDn = getNewDn(currentDn.getValue(), newRdn.getValue());
+        if (Objects.nonNull(newDn)) {
+            invalidateReads(ldapClient, newDn, true);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the DN an entry is renamed to, so that the results cached for it, including a missing entry,
+     * are discarded. The DN is not known when either of the values given could not be parsed.
+     */
+    private static String getNewDn(String currentDn, String newRdn) {
+        try {
+            DN parentDn = new DN(currentDn).getParent();
+            RDN rdn = new RDN(newRdn);
+            return Objects.isNull(parentDn) ? new DN(rdn).toString() : new DN(rdn, parentDn).toString();
+        } catch (LDAPException e) {
+            return null;
+        }
     }
 
     public static Object delete(Environment env, BObject ldapClient, BString dN) {
-        return env.yieldAndRun(() -> {
-            CompletableFuture<Object> future = new CompletableFuture<>();
-            try {
-                LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-                validateConnection(ldapConnection);
-                CustomAsyncResultListener customAsyncResultListener = new CustomAsyncResultListener(future);
-                ldapConnection.asyncDelete(new DeleteRequest(dN.getValue()), customAsyncResultListener);
-                return future.get();
-            } catch (LDAPException e) {
-                return Utils.createError(e.getMessage(), e);
-            } catch (Throwable e) {
-                return Utils.createError(e.getMessage(), e);
-            }
-        });
+        Object result = executeAsync(env, ldapClient, false, "delete", (ldapConnection, future) ->
+                ldapConnection.asyncDelete(new DeleteRequest(dN.getValue()), new CustomAsyncResultListener(future)));
+        invalidateReads(ldapClient, dN.getValue(), false);
+        return result;
     }
 
     public static Object compare(Environment env, BObject ldapClient,
                                  BString dN, BString attributeName, BString assertionValue) {
+        return executeAsync(env, ldapClient, true, "compare", (ldapConnection, future) -> {
+            CompareRequest compareRequest = new CompareRequest(dN.getValue(), attributeName.getValue(),
+                    assertionValue.getValue());
+            ldapConnection.asyncCompare(compareRequest, (requestID, compareResult) -> {
+                if (compareResult.getResultCode().equals(ResultCode.COMPARE_TRUE)) {
+                    future.complete(true);
+                } else if (compareResult.getResultCode().equals(ResultCode.COMPARE_FALSE)) {
+                    future.complete(false);
+                } else {
+                    LDAPException ldapException = new LDAPException(compareResult);
+                    future.complete(Utils.createError(ldapException.getMessage(), ldapException));
+                }
+            });
+        });
+    }
+
+    /**
+     * Checks the credentials of a user by binding as the user over a connection of the authentication pool.
+     * The connection is bound with the credentials of the client again once the check is completed, so that
+     * credentials are checked without establishing a new connection.
+     */
+    public static Object authenticate(Environment env, BObject ldapClient, BString dN, BString password) {
+        if (password.getValue().isEmpty()) {
+            // A simple bind without a password is an unauthenticated bind, which does not verify the user.
+            return false;
+        }
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
         return env.yieldAndRun(() -> {
-            try {
-                LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-                validateConnection(ldapConnection);
-                CompareRequest compareRequest = new CompareRequest(dN.getValue(), attributeName.getValue(),
-                        assertionValue.getValue());
-                CompletableFuture<Object> future = new CompletableFuture<>();
-                ldapConnection.asyncCompare(compareRequest, (requestID, compareResult) -> {
-                    if (compareResult.getResultCode().equals(ResultCode.COMPARE_TRUE)) {
-                        future.complete(true);
-                    } else if (compareResult.getResultCode().equals(ResultCode.COMPARE_FALSE)) {
-                        future.complete(false);
-                    } else {
-                        LDAPException ldapException = new LDAPException(compareResult);
-                        future.complete(Utils.createError(ldapException.getMessage(), ldapException));
-                    }
-                });
-                return future.get();
-            } catch (LDAPException e) {
-                return Utils.createError(e.getMessage(), e);
-            } catch (Throwable e) {
-                return Utils.createError(e.getMessage(), e);
+            ClientMetrics.Recorder recorder = ClientMetrics.start(ldapClient, "authenticate");
+            Object result = checkCredentials(connectionManager, dN.getValue(), password.getValue());
+            if (Objects.nonNull(recorder)) {
+                recorder.complete(result);
             }
+            return result;
         });
     }
 
-    public static Object getEntry(BObject ldapClient, BString dN, BTypedesc typeParam) {
-        BMap<BString, Object> entry = ValueCreator.createMapValue();
+    private static Object checkCredentials(ConnectionManager connectionManager, String dN, String password) {
         try {
-            LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-            validateConnection(ldapConnection);
-            SearchResultEntry userEntry = ldapConnection.getEntry(dN.getValue());
-            if (Objects.isNull(userEntry)) {
-                return Utils.createError(String.format(ENTRY_NOT_FOUND, dN), new LDAPException(NO_SUCH_OBJECT));
+            connectionManager.getAuthenticationPool().bindAndRevertAuthentication(
+                    new SimpleBindRequest(dN, password));
+            return true;
+        } catch (LDAPException e) {
+            if (e.getResultCode().equals(ResultCode.INVALID_CREDENTIALS)) {
+                return false;
             }
-            for (Attribute attribute : userEntry.getAttributes()) {
-                processAttribute(attribute, entry);
+            return Utils.createError(e.getMessage(), e);
+        }
+    }
+
+    public static Object getEntry(Environment env, BObject ldapClient, BString dN, BTypedesc typeParam,
+                                  BArray attributes) {
+        String[] attributeNames = getAttributeNames(attributes, typeParam.getDescribingType());
+        AttributeCodecRegistry codecRegistry = getCodecRegistry(ldapClient);
+        EntryCache cache = (EntryCache) ldapClient.getNativeData(NATIVE_CACHE);
+        EntryCache.Loader cacheLoader = null;
+        if (Objects.nonNull(cache)) {
+            EntryCache.Key key = EntryCache.entryKey(dN.getValue(), attributeNames);
+            Object cachedEntry = cache.get(key);
+            if (cachedEntry == EntryCache.NOT_FOUND) {
+                return ClientMetrics.recordCacheHit(ldapClient, "getEntry", Utils.createError(
+                        String.format(ENTRY_NOT_FOUND, dN.getValue()), ResultCode.NO_SUCH_OBJECT));
+            } else if (Objects.nonNull(cachedEntry)) {
+                return ClientMetrics.recordCacheHit(ldapClient, "getEntry", CustomEntryListener.toEntry(
+                        (SearchResultEntry) cachedEntry, typeParam.getDescribingType(), codecRegistry));
             }
-            return ValueUtils.convert(entry, typeParam.getDescribingType());
+            cacheLoader = cache.newLoader(key);
+        }
+        EntryCache.Loader entryLoader = cacheLoader;
+        return executeSearch(env, ldapClient, "getEntry", EntryCache.entryKey(dN.getValue(), attributeNames),
+                dN.getValue(), SearchScope.BASE, Filter.createPresenceFilter(OBJECT_CLASS), attributeNames,
+                future -> new CustomEntryListener(future, typeParam, dN.getValue(), entryLoader, codecRegistry));
+    }
+
+    public static Object search(Environment env, BObject ldapClient, BString baseDn, BString filter, BString scope,
+                                BArray attributes) {
+        SearchScope searchScope = getSearchScope(scope);
+        String[] attributeNames = attributes.getStringArray();
+        Filter searchFilter;
+        try {
+            searchFilter = Filter.create(filter.getValue());
         } catch (LDAPException e) {
             return Utils.createError(e.getMessage(), e);
         }
+        return executeSearch(env, ldapClient, "search",
+                EntryCache.searchKey(baseDn.getValue(), searchScope, filter.getValue(), attributeNames),
+                baseDn.getValue(), searchScope, searchFilter, attributeNames,
+                future -> new CustomSearchResultListener(future, baseDn.getValue(), getCodecRegistry(ldapClient)));
     }
 
-    public static Object search(Environment env, BObject ldapClient, BString baseDn, BString filter, BString scope) {
+    public static Object searchWithType(Environment env, BObject ldapClient, BString baseDn,
+                                        BString filter, BString scope, BTypedesc typeParam, BArray attributes) {
+        SearchScope searchScope = getSearchScope(scope);
+        ArrayType arrayType = (ArrayType) TypeUtils.getImpliedType(typeParam.getDescribingType());
+        String[] attributeNames = getAttributeNames(attributes, arrayType.getElementType());
+        AttributeCodecRegistry codecRegistry = getCodecRegistry(ldapClient);
+        EntryCache cache = (EntryCache) ldapClient.getNativeData(NATIVE_CACHE);
+        EntryCache.Key key = EntryCache.searchKey(baseDn.getValue(), searchScope, filter.getValue(), attributeNames);
+        EntryCache.Loader cacheLoader = null;
+        if (Objects.nonNull(cache)) {
+            Object cachedEntries = cache.get(key);
+            if (Objects.nonNull(cachedEntries)) {
+                return ClientMetrics.recordCacheHit(ldapClient, "searchWithType", CustomSearchEntryListener.toArray(
+                        (List<SearchResultEntry>) cachedEntries, typeParam, codecRegistry));
+            }
+            cacheLoader = cache.newLoader(key);
+        }
+        Filter searchFilter;
+        try {
+            searchFilter = Filter.create(filter.getValue());
+        } catch (LDAPException e) {
+            return Utils.createError(e.getMessage(), e);
+        }
+        EntryCache.Loader entriesLoader = cacheLoader;
+        return executeSearch(env, ldapClient, "searchWithType", key, baseDn.getValue(), searchScope, searchFilter,
+                attributeNames, future -> new CustomSearchEntryListener(future, typeParam, baseDn.getValue(),
+                        entriesLoader, codecRegistry));
+    }
+
+    /**
+     * Executes a search on a read connection. When read coalescing is enabled, a search identical to a search in
+     * progress is not sent to the server, but receives the result of the search in progress. The result is
+     * replayed to the listener of each caller, so that each caller gets its own values.
+     */
+    private static Object executeSearch(Environment env, BObject ldapClient, String operationName,
+                                        EntryCache.Key key, String baseDn, SearchScope scope, Filter filter,
+                                        String[] attributes,
+                                        Function<CompletableFuture<Object>, AsyncSearchResultListener> listener) {
+        SearchCoalescer coalescer = (SearchCoalescer) ldapClient.getNativeData(NATIVE_COALESCER);
+        if (Objects.isNull(coalescer)) {
+            ClientMetrics.Recorder recorder = ClientMetrics.start(ldapClient, operationName);
+            return executeAsync(env, ldapClient, true, recorder, (ldapConnection, future) ->
+                    ldapConnection.asyncSearch(new SearchRequest(ClientMetrics.measure(recorder,
+                            listener.apply(future)), baseDn, scope, filter, attributes)));
+        }
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
         return env.yieldAndRun(() -> {
-            CompletableFuture<Object> future = new CompletableFuture<>();
+            ClientMetrics.Recorder recorder = ClientMetrics.start(ldapClient, operationName);
+            Object result = executeCoalescedSearch(connectionManager, coalescer, key, baseDn, scope, filter,
+                    attributes, future -> ClientMetrics.measure(recorder, listener.apply(future)),
+                    () -> ClientMetrics.recordShared(recorder));
+            if (Objects.nonNull(recorder)) {
+                recorder.complete(result);
+            }
+            return result;
+        });
+    }
+
+    private static Object executeCoalescedSearch(ConnectionManager connectionManager, SearchCoalescer coalescer,
+                                                 EntryCache.Key key, String baseDn, SearchScope scope,
+                                                 Filter filter, String[] attributes,
+                                                 Function<CompletableFuture<Object>,
+                                                         AsyncSearchResultListener> listener, Runnable onShared) {
+        CompletableFuture<SearchResult> search = coalescer.search(key, sharedSearch -> {
             try {
-                SearchScope searchScope = getSearchScope(scope);
-                LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-                validateConnection(ldapConnection);
-                SearchResultListener searchResultListener = new CustomSearchResultListener(future, baseDn.getValue());
-                SearchRequest searchRequest = new SearchRequest(searchResultListener, baseDn.getValue(),
-                        searchScope, filter.getValue());
-                ldapConnection.asyncSearch(searchRequest);
-                return future.get();
-            } catch (LDAPException e) {
-                return Utils.createError(e.getMessage(), e);
+                LDAPConnection ldapConnection = connectionManager.getReadConnection();
+                sharedSearch.whenComplete((result, throwable) ->
+                        connectionManager.releaseReadConnection(ldapConnection));
+                ldapConnection.asyncSearch(new SearchRequest(new CustomSharedSearchListener(sharedSearch),
+                        baseDn, scope, filter, attributes));
             } catch (Throwable e) {
-                return Utils.createError(e.getMessage(), e);
+                sharedSearch.completeExceptionally(e);
             }
+        }, onShared);
+        SearchResult searchResult;
+        try {
+            searchResult = search.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            return cause instanceof LDAPException ldapException
+                    ? Utils.createError(ldapException.getMessage(), ldapException)
+                    : Utils.createError(cause.getMessage(), cause);
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CustomSharedSearchListener.replay(searchResult, listener.apply(future));
+        return future.join();
+    }
+
+    public static BArray addAll(Environment env, BObject ldapClient, BArray operations,
+                                long maxOutstandingRequests) {
+        Object[] values = executeBulk(env, ldapClient, false, "addAll", operations.size(),
+                maxOutstandingRequests, (ldapConnection, index, future) -> {
+                    BMap<BString, Object> operation = (BMap<BString, Object>) operations.get(index);
+                    AddRequest addRequest = generateAddRequest(operation.getStringValue(DN),
+                            (BMap<BString, Object>) operation.getMapValue(ENTRY));
+                    ldapConnection.asyncAdd(addRequest, new CustomAsyncResultListener(future));
+                });
+        for (int i = 0; i < operations.size(); i++) {
+            invalidateReads(ldapClient, ((BMap<BString, Object>) operations.get(i)).getStringValue(DN).getValue(),
+                    false);
+        }
+        return createResultArray(values);
+    }
+
+    public static BArray modifyAll(Environment env, BObject ldapClient, BArray operations,
+                                   long maxOutstandingRequests) {
+        Object[] values = executeBulk(env, ldapClient, false, "modifyAll", operations.size(),
+                maxOutstandingRequests, (ldapConnection, index, future) -> {
+                    BMap<BString, Object> operation = (BMap<BString, Object>) operations.get(index);
+                    ModifyRequest modifyRequest = generateModifyRequest(operation.getStringValue(DN),
+                            (BMap<BString, BString>) operation.getMapValue(ENTRY));
+                    ldapConnection.asyncModify(modifyRequest, new CustomAsyncResultListener(future));
+                });
+        for (int i = 0; i < operations.size(); i++) {
+            invalidateReads(ldapClient, ((BMap<BString, Object>) operations.get(i)).getStringValue(DN).getValue(),
+                    false);
+        }
+        return createResultArray(values);
+    }
+
+    public static BArray deleteAll(Environment env, BObject ldapClient, BArray dNs, long maxOutstandingRequests) {
+        Object[] values = executeBulk(env, ldapClient, false, "deleteAll", dNs.size(), maxOutstandingRequests,
+                (ldapConnection, index, future) -> ldapConnection.asyncDelete(
+                        new DeleteRequest(dNs.getBString(index).getValue()), new CustomAsyncResultListener(future)));
+        for (int i = 0; i < dNs.size(); i++) {
+            invalidateReads(ldapClient, dNs.getBString(i).getValue(), false);
+        }
+        return createResultArray(values);
+    }
+
+    public static BArray getEntries(Environment env, BObject ldapClient, BArray dNs, BArray attributes,
+                                    long maxOutstandingRequests, BTypedesc typeParam) {
+        String[] attributeNames = getAttributeNames(attributes, typeParam.getDescribingType());
+        AttributeCodecRegistry codecRegistry = getCodecRegistry(ldapClient);
+        Object[] values = executeBulk(env, ldapClient, true, "getEntries", dNs.size(), maxOutstandingRequests,
+                (ldapConnection, index, future) -> {
+                    String dN = dNs.getBString(index).getValue();
+                    SearchRequest searchRequest = new SearchRequest(new CustomEntryListener(future, typeParam, dN,
+                            null, codecRegistry),
+                            dN, SearchScope.BASE, Filter.createPresenceFilter(OBJECT_CLASS), attributeNames);
+                    ldapConnection.asyncSearch(searchRequest);
+                });
+        UnionType resultType = TypeCreator.createUnionType(typeParam.getDescribingType(), Utils.getErrorType());
+        return ValueCreator.createArrayValue(values, TypeCreator.createArrayType(resultType));
+    }
+
+    public static Object resolveMembers(Environment env, BObject ldapClient, BString groupDn, long maxDepth) {
+        GroupResolver groupResolver = (GroupResolver) ldapClient.getNativeData(NATIVE_GROUP_RESOLVER);
+        return executeAsync(env, ldapClient, true, "resolveMembers", (ldapConnection, future) -> {
+            List<String> members = groupResolver.resolveMembers(ldapConnection, groupDn.getValue(),
+                    Math.toIntExact(maxDepth));
+            future.complete(convertToBArray(members.toArray()));
         });
     }
 
-    public static Object searchWithType(Environment env, BObject ldapClient, BString baseDn,
-                                        BString filter, BString scope, BTypedesc typeParam) {
+    public static Object isMemberOf(Environment env, BObject ldapClient, BString dN, BString groupDn,
+                                    long maxDepth) {
+        GroupResolver groupResolver = (GroupResolver) ldapClient.getNativeData(NATIVE_GROUP_RESOLVER);
+        return executeAsync(env, ldapClient, true, "isMemberOf", (ldapConnection, future) -> future.complete(
+                groupResolver.isMemberOf(ldapConnection, dN.getValue(), groupDn.getValue(),
+                        Math.toIntExact(maxDepth))));
+    }
+
+    public static Object getMetrics(BObject ldapClient) {
+        ClientMetrics metrics = (ClientMetrics) ldapClient.getNativeData(NATIVE_METRICS);
+        return Objects.isNull(metrics) || !metrics.isCollected() ? null
+                : metrics.getSnapshot((ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT));
+    }
+
+    public static Object getCacheStatistics(BObject ldapClient) {
+        EntryCache cache = (EntryCache) ldapClient.getNativeData(NATIVE_CACHE);
+        return Objects.isNull(cache) ? null : cache.getStatistics();
+    }
+
+    /**
+     * Discards the cached results depending on an entry changed through the client, and stops sharing the
+     * searches in progress with later reads. This is invoked once the change is completed, so that a read
+     * started before the change is completed is neither cached nor shared with the reads that follow.
+     */
+    private static void invalidateReads(BObject ldapClient, String dN, boolean includeSubtree) {
+        EntryCache cache = (EntryCache) ldapClient.getNativeData(NATIVE_CACHE);
+        if (Objects.nonNull(cache)) {
+            cache.invalidate(dN, includeSubtree);
+        }
+        SearchCoalescer coalescer = (SearchCoalescer) ldapClient.getNativeData(NATIVE_COALESCER);
+        if (Objects.nonNull(coalescer)) {
+            coalescer.invalidate();
+        }
+    }
+
+    /**
+     * Discards all the cached results and stops sharing the searches in progress, after changes made to entries
+     * that are not tracked individually.
+     */
+    static void invalidateAllReads(BObject ldapClient) {
+        EntryCache cache = (EntryCache) ldapClient.getNativeData(NATIVE_CACHE);
+        if (Objects.nonNull(cache)) {
+            cache.invalidateAll();
+        }
+        SearchCoalescer coalescer = (SearchCoalescer) ldapClient.getNativeData(NATIVE_COALESCER);
+        if (Objects.nonNull(coalescer)) {
+            coalescer.invalidate();
+        }
+    }
+
+    /**
+     * Creates the array of the results of a batch of operations, which is of the type
+     * {@code (LdapResponse|Error)[]}.
+     */
+    private static BArray createResultArray(Object[] values) {
+        if (Objects.isNull(resultArrayType)) {
+            Type responseType = TypeUtils.getType(ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                    LDAP_RESPONSE));
+            resultArrayType = TypeCreator.createArrayType(TypeCreator.createUnionType(responseType,
+                    Utils.getErrorType()));
+        }
+        return ValueCreator.createArrayValue(values, resultArrayType);
+    }
+
+    /**
+     * Sends a batch of operations over a single connection without waiting for the response of an
+     * operation before sending the next one. At most {@code maxOutstandingRequests} operations are awaiting
+     * a response at any time.
+     *
+     * @return the result of each operation, in the order of the operations
+     */
+    private static Object[] executeBulk(Environment env, BObject ldapClient, boolean isReadOperation,
+                                        String operationName, int count, long maxOutstandingRequests,
+                                        AsyncBulkOperation operation) {
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
         return env.yieldAndRun(() -> {
+            Object[] values = new Object[count];
+            LDAPConnection ldapConnection;
+            try {
+                ldapConnection = isReadOperation
+                        ? connectionManager.getReadConnection() : connectionManager.getConnection();
+            } catch (LDAPException e) {
+                Arrays.fill(values, Utils.createError(e.getMessage(), e));
+                for (Object value : values) {
+                    ClientMetrics.Recorder recorder = ClientMetrics.start(ldapClient, operationName);
+                    if (Objects.nonNull(recorder)) {
+                        recorder.complete(value);
+                    }
+                }
+                return values;
+            }
+            List<CompletableFuture<Object>> futures = new ArrayList<>(count);
+            try {
+                Semaphore outstandingRequests = new Semaphore(Math.toIntExact(Math.max(1, maxOutstandingRequests)));
+                for (int i = 0; i < count; i++) {
+                    outstandingRequests.acquire();
+                    CompletableFuture<Object> future = new CompletableFuture<>();
+                    ClientMetrics.Recorder recorder = ClientMetrics.start(ldapClient, operationName);
+                    future.whenComplete((result, throwable) -> {
+                        if (Objects.nonNull(recorder)) {
+                            recorder.complete(result);
+                        }
+                        outstandingRequests.release();
+                    });
+                    futures.add(future);
+                    try {
+                        operation.execute(ldapConnection, i, future);
+                    } catch (LDAPException e) {
+                        future.complete(Utils.createError(e.getMessage(), e));
+                    } catch (Throwable e) {
+                        future.complete(Utils.createError(e.getMessage(), e));
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    values[i] = futures.get(i).join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int i = 0; i < count; i++) {
+                    values[i] = i < futures.size() && futures.get(i).isDone()
+                            ? futures.get(i).join() : Utils.createError(e.getMessage(), e);
+                }
+            } finally {
+                if (isReadOperation) {
+                    connectionManager.releaseReadConnection(ldapConnection);
+                } else {
+                    connectionManager.releaseConnection(ldapConnection);
+                }
+            }
+            return values;
+        });
+    }
+
+    /**
+     * Represents a single operation of a batch, which completes the given future once the response is received.
+     */
+    @FunctionalInterface
+    private interface AsyncBulkOperation {
+        void execute(LDAPConnection ldapConnection, int index, CompletableFuture<Object> future)
+                throws LDAPException;
+    }
+
+    /**
+     * Executes an asynchronous operation on a connection obtained from the client. The connection is
+     * handed back as soon as the listener of the operation completes the future, from the thread that
+     * received the response, so that it can be reused while the calling strand is being resumed.
+     *
+     * @param env the Ballerina runtime environment
+     * @param ldapClient the LDAP client object
+     * @param isReadOperation whether the operation only reads from the directory
+     * @param operationName the name the metrics of the operation are recorded under
+     * @param operation the operation to be sent over the connection
+     * @return the value the future is completed with, or an error if the operation could not be sent
+     */
+    private static Object executeAsync(Environment env, BObject ldapClient, boolean isReadOperation,
+                                       String operationName, AsyncOperation operation) {
+        return executeAsync(env, ldapClient, isReadOperation, ClientMetrics.start(ldapClient, operationName),
+                operation);
+    }
+
+    private static Object executeAsync(Environment env, BObject ldapClient, boolean isReadOperation,
+                                       ClientMetrics.Recorder recorder, AsyncOperation operation) {
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
+        return env.yieldAndRun(() -> {
+            LDAPConnection ldapConnection;
+            try {
+                ldapConnection = isReadOperation
+                        ? connectionManager.getReadConnection() : connectionManager.getConnection();
+            } catch (LDAPException e) {
+                BError error = Utils.createError(e.getMessage(), e);
+                if (Objects.nonNull(recorder)) {
+                    recorder.complete(error);
+                }
+                return error;
+            }
             CompletableFuture<Object> future = new CompletableFuture<>();
+            future.whenComplete((result, throwable) -> {
+                if (Objects.nonNull(recorder)) {
+                    recorder.complete(result);
+                }
+                ResultCode resultCode = result instanceof BError error ? Utils.getResultCode(error) : null;
+                if (Objects.nonNull(resultCode)) {
+                    LDAPException exception = new LDAPException(resultCode);
+                    if (isReadOperation) {
+                        connectionManager.releaseReadConnectionAfterException(ldapConnection, exception);
+                    } else {
+                        connectionManager.releaseConnectionAfterException(ldapConnection, exception);
+                    }
+                } else if (isReadOperation) {
+                    connectionManager.releaseReadConnection(ldapConnection);
+                } else {
+                    connectionManager.releaseConnection(ldapConnection);
+                }
+            });
             try {
-                SearchScope searchScope = getSearchScope(scope);
-                LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-                validateConnection(ldapConnection);
-                SearchResultListener searchResultListener = new CustomSearchEntryListener(future, typeParam,
-                        baseDn.getValue());
-                SearchRequest searchRequest = new SearchRequest(searchResultListener, baseDn.getValue(),
-                        searchScope, filter.getValue());
-                ldapConnection.asyncSearch(searchRequest);
-                return future.get();
+                operation.execute(ldapConnection, future);
             } catch (LDAPException e) {
-                return Utils.createError(e.getMessage(), e);
+                future.complete(Utils.createError(e.getMessage(), e));
             } catch (Throwable e) {
-                return Utils.createError(e.getMessage(), e);
+                future.complete(Utils.createError(e.getMessage(), e));
             }
+            return future.join();
         });
     }
 
+    /**
+     * Represents an operation which is sent over a connection and completes the given future
+     * once the response is received.
+     */
+    @FunctionalInterface
+    private interface AsyncOperation {
+        void execute(LDAPConnection ldapConnection, CompletableFuture<Object> future) throws LDAPException;
+    }
+
+    public static BStream searchStream(BObject ldapClient, BString baseDn, BString filter, BString scope,
+                                       long pageSize, BArray attributes) {
+        return createSearchStream(ldapClient, baseDn, filter, scope, pageSize, attributes.getStringArray(), null);
+    }
+
+    public static BStream searchStreamWithType(BObject ldapClient, BString baseDn, BString filter, BString scope,
+                                               long pageSize, BArray attributes, BTypedesc typeParam) {
+        Type targetType = typeParam.getDescribingType();
+        return createSearchStream(ldapClient, baseDn, filter, scope, pageSize,
+                getAttributeNames(attributes, targetType), targetType);
+    }
+
+    private static BStream createSearchStream(BObject ldapClient, BString baseDn, BString filter, BString scope,
+                                              long pageSize, String[] attributes, Type targetType) {
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
+        BError pageSizeError = Utils.validatePageSize(pageSize);
+        int validPageSize = Objects.isNull(pageSizeError) ? (int) pageSize : 0;
+        SearchResultIterator searchResultIterator = new SearchResultIterator(connectionManager, baseDn.getValue(),
+                getSearchScope(scope), filter.getValue(), attributes, validPageSize, targetType,
+                getCodecRegistry(ldapClient));
+        if (Objects.nonNull(pageSizeError)) {
+            // The stream is returned regardless, so the error is returned as the first value of the stream.
+            searchResultIterator.fail(pageSizeError);
+        }
+        BObject iterator = ValueCreator.createObjectValue(ModuleUtils.getModule(), SEARCH_RESULT_ITERATOR);
+        iterator.addNativeData(NATIVE_ITERATOR, searchResultIterator);
+        Type streamConstraint = Objects.isNull(targetType) ? TypeUtils.getType(Utils.createEntryRecord()) : targetType;
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(streamConstraint,
+                TypeCreator.createUnionType(Utils.getErrorType(), PredefinedTypes.TYPE_NULL)), iterator);
+    }
+
     public static void close(BObject ldapClient) {
-        LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-        ldapConnection.close();
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
+        connectionManager.close();
     }
 
     public static boolean isConnected(BObject ldapClient) {
-        LDAPConnection ldapConnection = (LDAPConnection) ldapClient.getNativeData(NATIVE_CLIENT);
-        return ldapConnection.isConnected();
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
+        return connectionManager.isConnected();
     }
 
     public static void validateConnection(LDAPConnection ldapConnection) throws LDAPException {
@@ -399,62 +1093,112 @@ public final class Client {
         }
     }
 
-    private static AddRequest generateAddRequest(BString dN, BMap<BString, Object> entry) {
+    static AddRequest generateAddRequest(BString dN, BMap<BString, Object> entry) {
+        return new AddRequest(generateEntry(dN, entry));
+    }
+
+    private static Entry generateEntry(BString dN, BMap<BString, Object> entry) {
         Entry newEntry = new Entry(dN.getValue());
         for (BString key: entry.getKeys()) {
-            if (TypeUtils.getType(entry.get(key)).getTag() == TypeTags.ARRAY_TAG) {
-                BArray arrayValue = (BArray) entry.get(key);
-                String[] stringArray = arrayValue.getElementType().getTag() == TypeTags.STRING_TAG
-                        ? convertToStringArray(arrayValue.getStringArray())
-                        : convertToStringArray(arrayValue.getValues());
-                newEntry.addAttribute(key.getValue(), stringArray);
-            } else {
-                newEntry.addAttribute(key.getValue(), entry.get(key).toString());
-            }
+            newEntry.addAttribute(generateAttribute(key.getValue(), entry.get(key)));
         }
-        return new AddRequest(newEntry);
+        return newEntry;
     }
 
-    private static ModifyRequest generateModifyRequest(BString dN, BMap<BString, BString> entry) {
+    static ModifyRequest generateModifyRequest(BString dN, BMap<BString, BString> entry) {
         List<Modification> modificationList = new ArrayList<>();
         for (BString key: entry.getKeys()) {
-            if (TypeUtils.getType(entry.get(key)).getTag() == TypeTags.ARRAY_TAG) {
-                BArray arrayValue = (BArray) entry.get(key);
-                String[] stringArray = arrayValue.getElementType().getTag() == TypeTags.STRING_TAG
-                        ? convertToStringArray(arrayValue.getStringArray())
-                        : convertToStringArray(arrayValue.getValues());
-                modificationList.add(new Modification(ModificationType.REPLACE, key.getValue(), stringArray));
-            } else {
-                modificationList.add(new Modification(ModificationType.REPLACE,
-                                                      key.getValue(), entry.get(key).toString()));
-            }
+            Attribute attribute = generateAttribute(key.getValue(), entry.get(key));
+            modificationList.add(new Modification(ModificationType.REPLACE, attribute.getName(),
+                                                  attribute.getValueByteArrays()));
         }
         return new ModifyRequest(dN.getValue(), modificationList);
     }
 
-    static void processAttribute(Attribute attribute, BMap<BString, Object> entry) {
-        BString attributeName = StringUtils.fromString(attribute.getName());
-        if (attribute.needsBase64Encoding()) {
-            String readableString = encodeAttributeValue(attribute);
-            entry.put(attributeName, StringUtils.fromString(readableString));
-        } else {
-            if (attribute.getValues().length > 1) {
-                String[] values = attribute.getValues();
-                BString[] stringValues = Arrays.stream(values).map(StringUtils::fromString).toArray(BString[]::new);
-                entry.put(attributeName, ValueCreator.createArrayValue(stringValues));
-            } else {
-                entry.put(attributeName, StringUtils.fromString(attribute.getValue()));
+    /**
+     * Creates a modification of the values of an attribute. The values are only optional for the modifications
+     * that delete or replace all the values of the attribute, so a modification that adds or increments the values
+     * without any values is rejected before it is sent to the server.
+     */
+    private static Modification generateModification(BMap<BString, Object> modification) throws LDAPException {
+        String attributeName = modification.getStringValue(ATTRIBUTE_NAME).getValue();
+        String modificationTypeName = modification.getStringValue(MODIFICATION_TYPE).getValue();
+        ModificationType modificationType = switch (modificationTypeName) {
+            case ADD_VALUES -> ModificationType.ADD;
+            case DELETE_VALUES -> ModificationType.DELETE;
+            case REPLACE_VALUES -> ModificationType.REPLACE;
+            case INCREMENT -> ModificationType.INCREMENT;
+            default -> throw new LDAPException(ResultCode.PARAM_ERROR,
+                    String.format(UNSUPPORTED_MODIFICATION_TYPE_ERROR, modificationTypeName));
+        };
+        Object values = modification.get(VALUES);
+        if (Objects.isNull(values)) {
+            if (modificationType == ModificationType.ADD || modificationType == ModificationType.INCREMENT) {
+                throw new LDAPException(ResultCode.PARAM_ERROR,
+                        String.format(MISSING_MODIFICATION_VALUES_ERROR, modificationTypeName, attributeName));
             }
+            return new Modification(modificationType, attributeName);
         }
+        return new Modification(modificationType, attributeName,
+                generateAttribute(attributeName, values).getValueByteArrays());
     }
 
-    private static String encodeAttributeValue(Attribute attribute) {
-        byte[] valueBytes = attribute.getValueByteArray();
-        return switch (attribute.getName()) {
-            case OBJECT_GUID -> convertObjectGUIDToString(valueBytes);
-            case OBJECT_SID -> convertObjectSidToString(valueBytes);
-            default -> Base64.encode(valueBytes);
-        };
+    /**
+     * Creates an attribute from a Ballerina value. A {@code byte[]} value is added as a single binary value, and
+     * the values of any other array are added as separate values. A {@code time:Utc} value is a tuple rather than
+     * an array, so it is added as a single value.
+     */
+    private static Attribute generateAttribute(String name, Object value) {
+        if (TypeUtils.getType(value).getTag() != TypeTags.ARRAY_TAG) {
+            return new Attribute(name, encodeValue(value));
+        }
+        BArray arrayValue = (BArray) value;
+        Type elementType = TypeUtils.getImpliedType(arrayValue.getElementType());
+        if (elementType.getTag() == TypeTags.BYTE_TAG) {
+            return new Attribute(name, arrayValue.getBytes());
+        } else if (elementType.getTag() == TypeTags.ARRAY_TAG) {
+            byte[][] values = new byte[arrayValue.size()][];
+            for (int i = 0; i < arrayValue.size(); i++) {
+                values[i] = ((BArray) arrayValue.get(i)).getBytes();
+            }
+            return new Attribute(name, values);
+        }
+        String[] values = new String[arrayValue.size()];
+        for (int i = 0; i < arrayValue.size(); i++) {
+            values[i] = encodeValue(arrayValue.get(i));
+        }
+        return new Attribute(name, values);
+    }
+
+    /**
+     * Encodes a value in the LDAP string representation of its syntax, where a boolean is {@code TRUE} or
+     * {@code FALSE} and a {@code time:Utc} value is a generalized time.
+     */
+    private static String encodeValue(Object value) {
+        if (value instanceof Boolean booleanValue) {
+            return booleanValue ? "TRUE" : "FALSE";
+        } else if (value instanceof BArray utc && TypeUtils.getType(utc).getTag() == TypeTags.TUPLE_TAG) {
+            BigDecimal fraction = ((BDecimal) utc.get(1)).decimalValue();
+            long epochMillis = Math.addExact(Math.multiplyExact((long) utc.get(0), 1000L),
+                    fraction.movePointRight(3).longValue());
+            return StaticUtils.encodeGeneralizedTime(epochMillis);
+        }
+        return value.toString();
+    }
+
+    static void processAttribute(Attribute attribute, BMap<BString, Object> entry) {
+        processAttribute(attribute, entry, null);
+    }
+
+    /**
+     * Adds the values of an attribute to an entry, converted with the given codec registry. If a registry is not
+     * given, binary values are added as Base64 encoded strings and any other values are added as strings.
+     */
+    static void processAttribute(Attribute attribute, BMap<BString, Object> entry,
+                                 AttributeCodecRegistry codecRegistry) {
+        AttributeCodecRegistry registry = Objects.isNull(codecRegistry) ? AttributeCodecRegistry.DEFAULT
+                : codecRegistry;
+        entry.put(StringUtils.fromString(attribute.getName()), registry.decode(attribute));
     }
 
     public static BMap<BString, Object> generateLdapResponse(LDAPResult ldapResult) {
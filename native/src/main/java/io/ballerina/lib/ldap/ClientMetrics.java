@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.AsyncSearchResultListener;
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.LDAPConnectionPool;
+import com.unboundid.ldap.sdk.LDAPConnectionPoolStatistics;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchResultReference;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+import io.ballerina.runtime.observability.metrics.Tag;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.ballerina.lib.ldap.Client.RESULT_STATUS;
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Collects the metrics of the operations of a client. The latency of an operation is split into the time spent
+ * converting the results to Ballerina values, measured within the listener of the operation, and the remaining
+ * time, which is spent on the network and in the server. When metrics are enabled for observability, the metrics
+ * are also published to the metric registry of the runtime, so these are reported by the configured metrics
+ * reporter (e.g., Prometheus) along with the metrics of the other modules.
+ */
+public final class ClientMetrics {
+    public static final String NATIVE_METRICS = "metrics";
+    public static final String METRICS = "Metrics";
+    public static final String OPERATION_METRICS = "OperationMetrics";
+    public static final String LATENCY_HISTOGRAM = "LatencyHistogram";
+    public static final String HISTOGRAM_BUCKET = "HistogramBucket";
+    public static final String CONNECTION_POOL_METRICS = "ConnectionPoolMetrics";
+    public static final BString OPERATIONS = fromString("operations");
+    public static final BString CONNECTION_POOLS = fromString("connectionPools");
+    public static final BString REQUESTS = fromString("requests");
+    public static final BString IN_FLIGHT = fromString("inFlight");
+    public static final BString SHARED_REQUESTS = fromString("sharedRequests");
+    public static final BString CACHE_HITS = fromString("cacheHits");
+    public static final BString ERRORS = fromString("errors");
+    public static final BString SERVER_LATENCY = fromString("serverLatency");
+    public static final BString CONVERSION_LATENCY = fromString("conversionLatency");
+    public static final BString ENTRIES_RETURNED = fromString("entriesReturned");
+    public static final BString BYTES_RETURNED = fromString("bytesReturned");
+    public static final BString COUNT = fromString("count");
+    public static final BString SUM = fromString("sum");
+    public static final BString BUCKETS = fromString("buckets");
+    public static final BString UPPER_BOUND = fromString("upperBound");
+    public static final BString AVAILABLE_CONNECTIONS = fromString("availableConnections");
+    public static final BString MAX_CONNECTIONS = fromString("maxConnections");
+    public static final BString SUCCESSFUL_CHECKOUTS = fromString("successfulCheckouts");
+    public static final BString FAILED_CHECKOUTS = fromString("failedCheckouts");
+    public static final BString CHECKOUTS_AFTER_WAITING = fromString("checkoutsAfterWaiting");
+
+    /**
+     * The upper bounds of the latency histogram buckets, in nanoseconds.
+     */
+    private static final long[] BUCKET_BOUNDS = {
+            100_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L, 2_500_000_000L, 5_000_000_000L,
+            10_000_000_000L
+    };
+
+    private static final String METRIC_PREFIX = "ldap_client_";
+    private static final String OPERATION_TAG = "operation";
+    private static final String RESULT_CODE_TAG = "result_code";
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final boolean isCollected;
+    private final boolean isObserved;
+
+    /**
+     * Creates the metrics of a client.
+     *
+     * @param isCollected whether the metrics are returned by the client
+     * @param isObserved  whether the metrics are published to the metric registry of the runtime
+     */
+    ClientMetrics(boolean isCollected, boolean isObserved) {
+        this.isCollected = isCollected;
+        this.isObserved = isObserved;
+    }
+
+    boolean isCollected() {
+        return isCollected;
+    }
+
+    /**
+     * Starts recording an operation of the given client.
+     *
+     * @return the recorder of the operation, or {@code null} if the metrics are not collected by the client
+     */
+    static Recorder start(BObject ldapClient, String operation) {
+        ClientMetrics metrics = (ClientMetrics) ldapClient.getNativeData(NATIVE_METRICS);
+        if (Objects.isNull(metrics) || Objects.isNull(operation)) {
+            return null;
+        }
+        OperationMetrics operationMetrics = metrics.getOperationMetrics(operation);
+        operationMetrics.start();
+        return new Recorder(operationMetrics);
+    }
+
+    /**
+     * Records an operation of the given client served from the cache, which is not sent to the server.
+     *
+     * @return the given result of the operation
+     */
+    static Object recordCacheHit(BObject ldapClient, String operation, Object result) {
+        ClientMetrics metrics = (ClientMetrics) ldapClient.getNativeData(NATIVE_METRICS);
+        if (Objects.nonNull(metrics)) {
+            metrics.getOperationMetrics(operation).addCacheHit(getResultCode(result));
+        }
+        return result;
+    }
+
+    /**
+     * Records that an operation shared the identical search in progress instead of sending a new request.
+     */
+    static void recordShared(Recorder recorder) {
+        if (Objects.nonNull(recorder)) {
+            recorder.metrics.addShared();
+        }
+    }
+
+    /**
+     * Wraps the listener of a search to measure the time spent in the listener and the entries returned.
+     * The operation is still completed by the caller, once the listener has produced the result.
+     *
+     * @return the wrapped listener, or the given listener if the operation is not recorded
+     */
+    static AsyncSearchResultListener measure(Recorder recorder, AsyncSearchResultListener listener) {
+        return Objects.isNull(recorder) ? listener : new MeasuredSearchListener(listener, recorder);
+    }
+
+    BMap<BString, Object> getSnapshot(ConnectionManager connectionManager) {
+        BMap<BString, Object> snapshot = ValueCreator.createRecordValue(ModuleUtils.getModule(), METRICS);
+        BMap<BString, Object> operationSnapshots = (BMap<BString, Object>) snapshot.getMapValue(OPERATIONS);
+        operations.forEach((name, metrics) -> operationSnapshots.put(fromString(name), metrics.getSnapshot()));
+        BMap<BString, Object> poolSnapshots = (BMap<BString, Object>) snapshot.getMapValue(CONNECTION_POOLS);
+        connectionManager.getConnectionPools().forEach((name, pool) ->
+                poolSnapshots.put(fromString(name), getPoolSnapshot(pool)));
+        return snapshot;
+    }
+
+    private OperationMetrics getOperationMetrics(String operation) {
+        return operations.computeIfAbsent(operation,
+                name -> new OperationMetrics(isObserved ? new ObservedMetrics(name) : null));
+    }
+
+    private static BMap<BString, Object> getPoolSnapshot(LDAPConnectionPool pool) {
+        LDAPConnectionPoolStatistics statistics = pool.getConnectionPoolStatistics();
+        BMap<BString, Object> snapshot = ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                CONNECTION_POOL_METRICS);
+        snapshot.put(AVAILABLE_CONNECTIONS, (long) pool.getCurrentAvailableConnections());
+        snapshot.put(MAX_CONNECTIONS, (long) pool.getMaximumAvailableConnections());
+        snapshot.put(SUCCESSFUL_CHECKOUTS, statistics.getNumSuccessfulCheckouts());
+        snapshot.put(FAILED_CHECKOUTS, statistics.getNumFailedCheckouts());
+        snapshot.put(CHECKOUTS_AFTER_WAITING, statistics.getNumSuccessfulCheckoutsAfterWaiting());
+        return snapshot;
+    }
+
+    /**
+     * Returns the result code of a failed operation.
+     *
+     * @return the result code, or {@code null} if the operation did not fail
+     */
+    private static String getResultCode(Object result) {
+        if (!(result instanceof BError error)) {
+            return null;
+        }
+        return error.getDetails() instanceof BMap<?, ?> details && details.get(RESULT_STATUS) instanceof BString code
+                ? code.getValue() : ResultCode.OTHER.getName().toUpperCase(Locale.ROOT);
+    }
+
+    private static BigDecimal toSeconds(long nanos) {
+        return BigDecimal.valueOf(nanos, 9);
+    }
+
+    private static final class OperationMetrics {
+        private final LongAdder requests = new LongAdder();
+        private final AtomicLong inFlight = new AtomicLong();
+        private final LongAdder sharedRequests = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final Histogram serverLatency = new Histogram();
+        private final Histogram conversionLatency = new Histogram();
+        private final LongAdder entriesReturned = new LongAdder();
+        private final LongAdder bytesReturned = new LongAdder();
+        private final ObservedMetrics observedMetrics;
+
+        private OperationMetrics(ObservedMetrics observedMetrics) {
+            this.observedMetrics = observedMetrics;
+        }
+
+        private void start() {
+            requests.increment();
+            inFlight.incrementAndGet();
+            if (Objects.nonNull(observedMetrics)) {
+                observedMetrics.requests.increment();
+                observedMetrics.inFlight.increment();
+            }
+        }
+
+        private void complete(long serverNanos, long conversionNanos, String resultCode) {
+            serverLatency.record(serverNanos);
+            conversionLatency.record(conversionNanos);
+            addError(resultCode);
+            inFlight.decrementAndGet();
+            if (Objects.nonNull(observedMetrics)) {
+                observedMetrics.serverLatency.setValue(toSeconds(serverNanos).doubleValue());
+                observedMetrics.conversionLatency.setValue(toSeconds(conversionNanos).doubleValue());
+                observedMetrics.inFlight.decrement();
+            }
+        }
+
+        private void addShared() {
+            sharedRequests.increment();
+            if (Objects.nonNull(observedMetrics)) {
+                observedMetrics.sharedRequests.increment();
+            }
+        }
+
+        private void addCacheHit(String resultCode) {
+            requests.increment();
+            cacheHits.increment();
+            addError(resultCode);
+            if (Objects.nonNull(observedMetrics)) {
+                observedMetrics.requests.increment();
+                observedMetrics.cacheHits.increment();
+            }
+        }
+
+        private void addEntry(long bytes) {
+            entriesReturned.increment();
+            bytesReturned.add(bytes);
+            if (Objects.nonNull(observedMetrics)) {
+                observedMetrics.entriesReturned.increment();
+                observedMetrics.bytesReturned.increment(bytes);
+            }
+        }
+
+        private void addError(String resultCode) {
+            if (Objects.isNull(resultCode)) {
+                return;
+            }
+            errors.computeIfAbsent(resultCode, name -> new LongAdder()).increment();
+            if (Objects.nonNull(observedMetrics)) {
+                observedMetrics.getErrors(resultCode).increment();
+            }
+        }
+
+        private BMap<BString, Object> getSnapshot() {
+            BMap<BString, Object> snapshot = ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                    OPERATION_METRICS);
+            snapshot.put(REQUESTS, requests.sum());
+            snapshot.put(IN_FLIGHT, inFlight.get());
+            snapshot.put(SHARED_REQUESTS, sharedRequests.sum());
+            snapshot.put(CACHE_HITS, cacheHits.sum());
+            BMap<BString, Object> errorCounts = (BMap<BString, Object>) snapshot.getMapValue(ERRORS);
+            errors.forEach((resultCode, count) -> errorCounts.put(fromString(resultCode), count.sum()));
+            snapshot.put(SERVER_LATENCY, serverLatency.getSnapshot());
+            snapshot.put(CONVERSION_LATENCY, conversionLatency.getSnapshot());
+            snapshot.put(ENTRIES_RETURNED, entriesReturned.sum());
+            snapshot.put(BYTES_RETURNED, bytesReturned.sum());
+            return snapshot;
+        }
+    }
+
+    /**
+     * Publishes the metrics of an operation to the metric registry of the runtime, tagged with the name of the
+     * operation. The metric registry of the runtime has no histogram, so the latencies are published as gauges
+     * with the default statistics, which report the percentiles of the recent values rather than buckets.
+     */
+    private static final class ObservedMetrics {
+        private final String operation;
+        private final Counter requests;
+        private final Gauge inFlight;
+        private final Counter sharedRequests;
+        private final Counter cacheHits;
+        private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+        private final Gauge serverLatency;
+        private final Gauge conversionLatency;
+        private final Counter entriesReturned;
+        private final Counter bytesReturned;
+
+        private ObservedMetrics(String operation) {
+            this.operation = operation;
+            Set<Tag> tags = Set.of(Tag.of(OPERATION_TAG, operation));
+            this.requests = counter("requests_total", "Number of operations requested", tags);
+            this.inFlight = gauge("inprogress_requests", "Number of operations awaiting a result", tags);
+            this.sharedRequests = counter("shared_requests_total",
+                    "Number of operations that shared an identical search in progress", tags);
+            this.cacheHits = counter("cache_hits_total", "Number of operations served from the cache", tags);
+            this.serverLatency = gauge("server_latency_seconds",
+                    "Time spent to obtain a connection, send the request and receive the response", tags,
+                    StatisticConfig.DEFAULT);
+            this.conversionLatency = gauge("conversion_latency_seconds",
+                    "Time spent to convert the entries returned to Ballerina values", tags, StatisticConfig.DEFAULT);
+            this.entriesReturned = counter("entries_returned_total", "Number of entries returned by the server",
+                    tags);
+            this.bytesReturned = counter("bytes_returned_total",
+                    "Size of the distinguished names and attribute values returned by the server", tags);
+        }
+
+        private Counter getErrors(String resultCode) {
+            return errors.computeIfAbsent(resultCode, code -> counter("errors_total", "Number of operations failed",
+                    Set.of(Tag.of(OPERATION_TAG, operation), Tag.of(RESULT_CODE_TAG, code))));
+        }
+
+        private static Counter counter(String name, String description, Set<Tag> tags) {
+            return DefaultMetricRegistry.getInstance().counter(new MetricId(METRIC_PREFIX + name, description, tags));
+        }
+
+        private static Gauge gauge(String name, String description, Set<Tag> tags,
+                                   StatisticConfig... statisticConfigs) {
+            return DefaultMetricRegistry.getInstance().gauge(new MetricId(METRIC_PREFIX + name, description, tags),
+                    statisticConfigs);
+        }
+    }
+
+    /**
+     * Counts the values recorded up to each bound. The last bucket has no upper bound, so it counts the values
+     * above the largest bound as well.
+     */
+    private static final class Histogram {
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+
+        private Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            count.increment();
+            sum.add(nanos);
+            for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+                if (nanos <= BUCKET_BOUNDS[i]) {
+                    buckets[i].increment();
+                    return;
+                }
+            }
+            buckets[BUCKET_BOUNDS.length].increment();
+        }
+
+        /**
+         * Returns the snapshot of the histogram, where each bucket counts the values up to its upper bound.
+         * The upper bound of the last bucket is infinite, so it counts all the values.
+         */
+        private BMap<BString, Object> getSnapshot() {
+            BMap<BString, Object> snapshot = ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                    LATENCY_HISTOGRAM);
+            snapshot.put(COUNT, count.sum());
+            snapshot.put(SUM, ValueCreator.createDecimalValue(toSeconds(sum.sum())));
+            Object[] bucketSnapshots = new Object[buckets.length];
+            long cumulativeCount = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulativeCount += buckets[i].sum();
+                BMap<BString, Object> bucket = ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                        HISTOGRAM_BUCKET);
+                bucket.put(UPPER_BOUND, i < BUCKET_BOUNDS.length ? toSeconds(BUCKET_BOUNDS[i]).doubleValue()
+                        : Double.POSITIVE_INFINITY);
+                bucket.put(COUNT, cumulativeCount);
+                bucketSnapshots[i] = bucket;
+            }
+            snapshot.put(BUCKETS, ValueCreator.createArrayValue(bucketSnapshots,
+                    TypeCreator.createArrayType(TypeUtils.getType(bucketSnapshots[0]))));
+            return snapshot;
+        }
+    }
+
+    /**
+     * Records a single operation, from the time the operation is started until its result is available. The
+     * operation may be completed while its final result is being converted, as the listener of a search completes
+     * the operation once it has produced the result, so the conversion in progress is included when it completes.
+     */
+    static final class Recorder {
+        private final OperationMetrics metrics;
+        private final long startTime = System.nanoTime();
+        private final AtomicLong conversionTime = new AtomicLong();
+        private volatile long resultConversionStartTime;
+        private volatile boolean isCompleted;
+
+        private Recorder(OperationMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        /**
+         * Completes the recording with the result of the operation, which is an error if the operation failed.
+         */
+        void complete(Object result) {
+            long endTime = System.nanoTime();
+            long conversion = conversionTime.get();
+            long resultConversionStart = resultConversionStartTime;
+            if (resultConversionStart != 0) {
+                conversion += endTime - resultConversionStart;
+            }
+            isCompleted = true;
+            metrics.complete(endTime - startTime - conversion, conversion, getResultCode(result));
+        }
+
+        private void startResultConversion() {
+            resultConversionStartTime = System.nanoTime();
+        }
+
+        private void endResultConversion() {
+            long resultConversionStart = resultConversionStartTime;
+            if (!isCompleted) {
+                // The operation is completed later, so the conversion is added before the start time is cleared.
+                addConversionTime(System.nanoTime() - resultConversionStart);
+            }
+            resultConversionStartTime = 0;
+        }
+
+        private void addConversionTime(long nanos) {
+            conversionTime.addAndGet(nanos);
+        }
+
+        private void addEntry(SearchResultEntry searchEntry) {
+            long bytes = searchEntry.getDN().length();
+            for (Attribute attribute : searchEntry.getAttributes()) {
+                for (byte[] value : attribute.getValueByteArrays()) {
+                    bytes += value.length;
+                }
+            }
+            metrics.addEntry(bytes);
+        }
+    }
+
+    /**
+     * Callback class to measure the time spent in the listener of a search, which converts the results to
+     * Ballerina values.
+     */
+    private static final class MeasuredSearchListener implements AsyncSearchResultListener {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private transient AsyncSearchResultListener listener;
+        private transient Recorder recorder;
+
+        private MeasuredSearchListener(AsyncSearchResultListener listener, Recorder recorder) {
+            this.listener = listener;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void searchResultReceived(AsyncRequestID requestID, SearchResult searchResult) {
+            recorder.startResultConversion();
+            listener.searchResultReceived(requestID, searchResult);
+            recorder.endResultConversion();
+        }
+
+        @Override
+        public void searchEntryReturned(SearchResultEntry searchEntry) {
+            long startTime = System.nanoTime();
+            listener.searchEntryReturned(searchEntry);
+            recorder.addConversionTime(System.nanoTime() - startTime);
+            recorder.addEntry(searchEntry);
+        }
+
+        @Override
+        public void searchReferenceReturned(SearchResultReference searchReference) {
+            listener.searchReferenceReturned(searchReference);
+        }
+
+        @Serial
+        private void writeObject(ObjectOutputStream oos) throws IOException {
+            oos.defaultWriteObject();
+        }
+
+        @Serial
+        private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+            ois.defaultReadObject();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPConnectionPool;
+import com.unboundid.ldap.sdk.LDAPException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.unboundid.ldap.sdk.ResultCode.OTHER;
+import static io.ballerina.lib.ldap.Utils.LDAP_CONNECTION_CLOSED_ERROR;
+
+/**
+ * Provides the connections used by the LDAP client, either from a single shared connection
+ * or from a connection pool. When a separate read pool is configured, read operations are served
+ * from it while write operations are served from the primary pool. Credentials are checked over a separate
+ * pool, which is created when the first authentication is requested.
+ */
+public final class ConnectionManager {
+    private final LDAPConnection ldapConnection;
+    private final LDAPConnectionPool connectionPool;
+    private final LDAPConnectionPool readConnectionPool;
+    private PoolFactory authenticationPoolFactory;
+    private volatile LDAPConnectionPool authenticationPool;
+
+    public ConnectionManager(LDAPConnection ldapConnection) {
+        this.ldapConnection = ldapConnection;
+        this.connectionPool = null;
+        this.readConnectionPool = null;
+    }
+
+    public ConnectionManager(LDAPConnectionPool connectionPool) {
+        this(connectionPool, connectionPool);
+    }
+
+    public ConnectionManager(LDAPConnectionPool writeConnectionPool, LDAPConnectionPool readConnectionPool) {
+        this.ldapConnection = null;
+        this.connectionPool = writeConnectionPool;
+        this.readConnectionPool = readConnectionPool;
+    }
+
+    /**
+     * Returns a connection to process an operation. A connection obtained from this method must be
+     * handed back using {@link #releaseConnection(LDAPConnection)} once the operation is completed.
+     *
+     * @return an established LDAP connection
+     * @throws LDAPException if the client is closed or a connection could not be obtained
+     */
+    public LDAPConnection getConnection() throws LDAPException {
+        return getConnection(connectionPool);
+    }
+
+    /**
+     * Returns a connection to process a read operation. A connection obtained from this method must be
+     * handed back using {@link #releaseReadConnection(LDAPConnection)} once the operation is completed.
+     *
+     * @return an established LDAP connection
+     * @throws LDAPException if the client is closed or a connection could not be obtained
+     */
+    public LDAPConnection getReadConnection() throws LDAPException {
+        return getConnection(readConnectionPool);
+    }
+
+    public void releaseConnection(LDAPConnection connection) {
+        releaseConnection(connectionPool, connection);
+    }
+
+    public void releaseReadConnection(LDAPConnection connection) {
+        releaseConnection(readConnectionPool, connection);
+    }
+
+    /**
+     * Hands back a connection whose operation failed. The pool decides from the failure whether the connection is
+     * still usable, and replaces it otherwise, so that a connection left unusable by a failure such as a timeout or
+     * a decoding error is not handed out again.
+     *
+     * @param connection the connection obtained with {@link #getConnection()}
+     * @param exception  the failure of the operation
+     */
+    public void releaseConnectionAfterException(LDAPConnection connection, LDAPException exception) {
+        releaseConnectionAfterException(connectionPool, connection, exception);
+    }
+
+    public void releaseReadConnectionAfterException(LDAPConnection connection, LDAPException exception) {
+        releaseConnectionAfterException(readConnectionPool, connection, exception);
+    }
+
+    void setAuthenticationPoolFactory(PoolFactory authenticationPoolFactory) {
+        this.authenticationPoolFactory = authenticationPoolFactory;
+    }
+
+    /**
+     * Returns the pool used to check credentials. The connections of this pool are bound with the credentials
+     * of the client again once a check is completed, so these are never used for other operations.
+     *
+     * @return the connection pool used to check credentials
+     * @throws LDAPException if the client is closed or the pool could not be created
+     */
+    public LDAPConnectionPool getAuthenticationPool() throws LDAPException {
+        LDAPConnectionPool pool = authenticationPool;
+        if (Objects.isNull(pool)) {
+            synchronized (this) {
+                if (!isConnected()) {
+                    throw new LDAPException(OTHER, LDAP_CONNECTION_CLOSED_ERROR);
+                }
+                pool = authenticationPool;
+                if (Objects.isNull(pool)) {
+                    pool = authenticationPoolFactory.create();
+                    authenticationPool = pool;
+                }
+            }
+        }
+        if (pool.isClosed()) {
+            throw new LDAPException(OTHER, LDAP_CONNECTION_CLOSED_ERROR);
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the connection pools in use by name, which are empty when a single shared connection is used.
+     * The authentication pool is included only once it is created.
+     */
+    Map<String, LDAPConnectionPool> getConnectionPools() {
+        Map<String, LDAPConnectionPool> pools = new LinkedHashMap<>();
+        if (Objects.nonNull(connectionPool)) {
+            pools.put("write", connectionPool);
+            if (readConnectionPool != connectionPool) {
+                pools.put("read", readConnectionPool);
+            }
+        }
+        LDAPConnectionPool pool = authenticationPool;
+        if (Objects.nonNull(pool)) {
+            pools.put("authentication", pool);
+        }
+        return pools;
+    }
+
+    public boolean isConnected() {
+        if (Objects.isNull(connectionPool)) {
+            return ldapConnection.isConnected();
+        }
+        return !connectionPool.isClosed();
+    }
+
+    public void close() {
+        if (Objects.isNull(connectionPool)) {
+            ldapConnection.close();
+        } else {
+            connectionPool.close();
+            if (readConnectionPool != connectionPool) {
+                readConnectionPool.close();
+            }
+        }
+        // The client is closed first, so that an authentication pool is not created once this is closed.
+        synchronized (this) {
+            if (Objects.nonNull(authenticationPool)) {
+                authenticationPool.close();
+            }
+        }
+    }
+
+    private LDAPConnection getConnection(LDAPConnectionPool pool) throws LDAPException {
+        if (Objects.isNull(pool)) {
+            Client.validateConnection(ldapConnection);
+            return ldapConnection;
+        }
+        if (pool.isClosed()) {
+            throw new LDAPException(OTHER, LDAP_CONNECTION_CLOSED_ERROR);
+        }
+        return pool.getConnection();
+    }
+
+    private static void releaseConnection(LDAPConnectionPool pool, LDAPConnection connection) {
+        if (Objects.isNull(pool) || Objects.isNull(connection)) {
+            return;
+        }
+        if (connection.isConnected()) {
+            pool.releaseConnection(connection);
+        } else {
+            pool.releaseDefunctConnection(connection);
+        }
+    }
+
+    private static void releaseConnectionAfterException(LDAPConnectionPool pool, LDAPConnection connection,
+                                                        LDAPException exception) {
+        if (Objects.isNull(pool) || Objects.isNull(connection)) {
+            return;
+        }
+        pool.releaseConnectionAfterException(connection, exception);
+    }
+
+    /**
+     * Creates a connection pool.
+     */
+    @FunctionalInterface
+    interface PoolFactory {
+        LDAPConnectionPool create() throws LDAPException;
+    }
+}
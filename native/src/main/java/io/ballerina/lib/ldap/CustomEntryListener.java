@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.AsyncSearchResultListener;
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchResultReference;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.ValueUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static io.ballerina.lib.ldap.Client.processAttribute;
+import static io.ballerina.lib.ldap.Utils.ENTRY_NOT_FOUND;
+
+/**
+ * Callback class to handle the entry retrieved by a base-scoped search asynchronously.
+ */
+public class CustomEntryListener implements AsyncSearchResultListener {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private transient CompletableFuture<Object> future;
+    private transient BTypedesc typeDesc;
+    private transient Object entry;
+    private transient SearchResultEntry searchEntry;
+    private transient EntryCache.Loader cacheLoader;
+    private transient AttributeCodecRegistry codecRegistry;
+    private final String dN;
+
+    public CustomEntryListener(CompletableFuture<Object> future, BTypedesc typeDesc, String dN) {
+        this(future, typeDesc, dN, null, null);
+    }
+
+    public CustomEntryListener(CompletableFuture<Object> future, BTypedesc typeDesc, String dN,
+                               EntryCache.Loader cacheLoader, AttributeCodecRegistry codecRegistry) {
+        this.future = future;
+        this.typeDesc = typeDesc;
+        this.dN = dN;
+        this.cacheLoader = cacheLoader;
+        this.codecRegistry = codecRegistry;
+        this.entry = null;
+    }
+
+    @Override
+    public void searchResultReceived(AsyncRequestID requestID, SearchResult searchResult) {
+        ResultCode resultCode = searchResult.getResultCode();
+        if (resultCode.equals(ResultCode.NO_SUCH_OBJECT)
+                || (resultCode.equals(ResultCode.SUCCESS) && entry == null)) {
+            if (Objects.nonNull(cacheLoader)) {
+                cacheLoader.load(EntryCache.NOT_FOUND);
+            }
+            future.complete(Utils.createError(String.format(ENTRY_NOT_FOUND, dN), ResultCode.NO_SUCH_OBJECT));
+            return;
+        }
+        if (!resultCode.equals(ResultCode.SUCCESS)) {
+            LDAPException ldapException = new LDAPException(searchResult);
+            future.complete(Utils.createError(ldapException.getMessage(), ldapException));
+            return;
+        }
+        if (Objects.nonNull(cacheLoader) && !(entry instanceof BError)) {
+            cacheLoader.load(searchEntry);
+        }
+        future.complete(entry);
+    }
+
+    @Override
+    public void searchEntryReturned(SearchResultEntry searchEntry) {
+        this.searchEntry = searchEntry;
+        this.entry = toEntry(searchEntry, typeDesc.getDescribingType(), codecRegistry);
+    }
+
+    /**
+     * Converts a search result entry to a value of the given type.
+     *
+     * @param codecRegistry the registry converting the attribute values, or {@code null} to convert binary values
+     *                      to Base64 encoded strings and any other values to strings
+     * @return the converted entry, or an error if the entry could not be converted to the given type
+     */
+    static Object toEntry(SearchResultEntry searchEntry, Type targetType, AttributeCodecRegistry codecRegistry) {
+        try {
+            Optional<RecordMapper> recordMapper = RecordMapper.getMapper(targetType);
+            if (recordMapper.isPresent()) {
+                return recordMapper.get().map(searchEntry, codecRegistry);
+            }
+            BMap<BString, Object> entryValue = ValueCreator.createMapValue();
+            for (Attribute attribute : searchEntry.getAttributes()) {
+                processAttribute(attribute, entryValue, codecRegistry);
+            }
+            return ValueUtils.convert(entryValue, targetType);
+        } catch (Exception e) {
+            return Utils.createError(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void searchReferenceReturned(SearchResultReference searchReference) {
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream oos) throws IOException {
+        oos.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+        ois.defaultReadObject();
+        this.entry = null;
+        this.searchEntry = null;
+    }
+
+    public void setFuture(CompletableFuture<Object> future) {
+        this.future = future;
+    }
+
+    public void setTypeDesc(BTypedesc typeDesc) {
+        this.typeDesc = typeDesc;
+    }
+
+    public void setCacheLoader(EntryCache.Loader cacheLoader) {
+        this.cacheLoader = cacheLoader;
+    }
+
+    public void setCodecRegistry(AttributeCodecRegistry codecRegistry) {
+        this.codecRegistry = codecRegistry;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.AsyncSearchResultListener;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchResultReference;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.function.Consumer;
+
+/**
+ * Callback class to receive the entries changed under a persistent search. The search only completes when
+ * it is abandoned, or when the server or the connection ends it.
+ */
+public class CustomPersistentSearchListener implements AsyncSearchResultListener {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private transient Consumer<SearchResultEntry> changeConsumer;
+    private transient Consumer<SearchResult> completionConsumer;
+
+    public CustomPersistentSearchListener(Consumer<SearchResultEntry> changeConsumer,
+                                          Consumer<SearchResult> completionConsumer) {
+        this.changeConsumer = changeConsumer;
+        this.completionConsumer = completionConsumer;
+    }
+
+    @Override
+    public void searchResultReceived(AsyncRequestID requestID, SearchResult searchResult) {
+        completionConsumer.accept(searchResult);
+    }
+
+    @Override
+    public void searchEntryReturned(SearchResultEntry searchEntry) {
+        changeConsumer.accept(searchEntry);
+    }
+
+    @Override
+    public void searchReferenceReturned(SearchResultReference searchReference) {
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream oos) throws IOException {
+        oos.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+        ois.defaultReadObject();
+    }
+
+    public void setChangeConsumer(Consumer<SearchResultEntry> changeConsumer) {
+        this.changeConsumer = changeConsumer;
+    }
+
+    public void setCompletionConsumer(Consumer<SearchResult> completionConsumer) {
+        this.completionConsumer = completionConsumer;
+    }
+}
@@ -20,7 +20,6 @@ package io.ballerina.lib.ldap;
 
 import com.unboundid.ldap.sdk.AsyncRequestID;
 import com.unboundid.ldap.sdk.AsyncSearchResultListener;
-import com.unboundid.ldap.sdk.Attribute;
 import com.unboundid.ldap.sdk.LDAPException;
 import com.unboundid.ldap.sdk.ResultCode;
 import com.unboundid.ldap.sdk.SearchResult;
@@ -28,20 +27,19 @@ import com.unboundid.ldap.sdk.SearchResultEntry;
 import com.unboundid.ldap.sdk.SearchResultReference;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.ArrayType;
-import io.ballerina.runtime.api.utils.ValueUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
-import io.ballerina.runtime.api.values.BMap;
-import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
-import static io.ballerina.lib.ldap.Client.processAttribute;
 import static io.ballerina.lib.ldap.Utils.ENTRY_NOT_FOUND;
 
 /**
@@ -55,13 +53,24 @@ public class CustomSearchEntryListener implements AsyncSearchResultListener {
     private transient BArray array;
     private transient BError error;
     private transient BTypedesc typeDesc;
+    private transient EntryCache.Loader cacheLoader;
+    private transient List<SearchResultEntry> searchEntries;
+    private transient AttributeCodecRegistry codecRegistry;
     private final String dN;
 
     public CustomSearchEntryListener(CompletableFuture<Object> future, BTypedesc typeDesc, String dN) {
+        this(future, typeDesc, dN, null, null);
+    }
+
+    public CustomSearchEntryListener(CompletableFuture<Object> future, BTypedesc typeDesc, String dN,
+                                     EntryCache.Loader cacheLoader, AttributeCodecRegistry codecRegistry) {
         this.future = future;
         this.array = ValueCreator.createArrayValue((ArrayType) typeDesc.getDescribingType());
         this.dN = dN;
         this.typeDesc = typeDesc;
+        this.cacheLoader = cacheLoader;
+        this.codecRegistry = codecRegistry;
+        this.searchEntries = new ArrayList<>();
         this.error = null;
     }
 
@@ -77,26 +86,46 @@ public class CustomSearchEntryListener implements AsyncSearchResultListener {
             return;
         }
         if (array.isEmpty()) {
-            String errorMessage = String.format(ENTRY_NOT_FOUND, dN);
-            LDAPException ldapException = new LDAPException(ResultCode.OTHER, errorMessage);
-            future.complete(Utils.createError(ldapException.getMessage(), ldapException));
+            future.complete(Utils.createError(String.format(ENTRY_NOT_FOUND, dN), ResultCode.OTHER));
             return;
         }
+        if (Objects.nonNull(cacheLoader)) {
+            cacheLoader.load(List.copyOf(searchEntries));
+        }
         future.complete(array);
     }
 
     @Override
     public void searchEntryReturned(SearchResultEntry searchEntry) {
-        try {
-            BMap<BString, Object> entry = ValueCreator.createMapValue();
-            for (Attribute attribute : searchEntry.getAttributes()) {
-                processAttribute(attribute, entry);
+        ArrayType arrayType = (ArrayType) typeDesc.getDescribingType();
+        Object entry = CustomEntryListener.toEntry(searchEntry, arrayType.getElementType(), codecRegistry);
+        if (entry instanceof BError bError) {
+            this.error = bError;
+            return;
+        }
+        array.append(entry);
+        if (Objects.nonNull(cacheLoader)) {
+            searchEntries.add(searchEntry);
+        }
+    }
+
+    /**
+     * Converts the search result entries to an array of the given type.
+     *
+     * @return the array of converted entries, or an error if an entry could not be converted
+     */
+    static Object toArray(List<SearchResultEntry> searchEntries, BTypedesc typeDesc,
+                          AttributeCodecRegistry codecRegistry) {
+        ArrayType arrayType = (ArrayType) typeDesc.getDescribingType();
+        BArray entries = ValueCreator.createArrayValue(arrayType);
+        for (SearchResultEntry searchEntry : searchEntries) {
+            Object entry = CustomEntryListener.toEntry(searchEntry, arrayType.getElementType(), codecRegistry);
+            if (entry instanceof BError) {
+                return entry;
             }
-            ArrayType arrayType = (ArrayType) typeDesc.getDescribingType();
-            array.append(ValueUtils.convert(entry, arrayType.getElementType()));
-        } catch (Exception e) {
-            this.error = Utils.createError(e.getMessage(), e);
+            entries.append(entry);
         }
+        return entries;
     }
 
     @Override
@@ -110,6 +139,7 @@ public class CustomSearchEntryListener implements AsyncSearchResultListener {
     private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
         ois.defaultReadObject();
         this.array = ValueCreator.createArrayValue((ArrayType) typeDesc.getDescribingType());
+        this.searchEntries = new ArrayList<>();
         this.error = null;
     }
 
@@ -121,4 +151,12 @@ public class CustomSearchEntryListener implements AsyncSearchResultListener {
         this.typeDesc = typeDesc;
         this.array = ValueCreator.createArrayValue((ArrayType) typeDesc.getDescribingType());
     }
+
+    public void setCacheLoader(EntryCache.Loader cacheLoader) {
+        this.cacheLoader = cacheLoader;
+    }
+
+    public void setCodecRegistry(AttributeCodecRegistry codecRegistry) {
+        this.codecRegistry = codecRegistry;
+    }
 }
@@ -27,6 +27,7 @@ import com.unboundid.ldap.sdk.SearchResult;
 import com.unboundid.ldap.sdk.SearchResultEntry;
 import com.unboundid.ldap.sdk.SearchResultReference;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BString;
 
 import java.io.IOException;
@@ -49,11 +50,19 @@ public class CustomSearchResultListener implements AsyncSearchResultListener {
     private transient CompletableFuture<Object> future;
     private transient List<BMap<BString, Object>> references;
     private transient List<BMap<BString, Object>> entries;
+    private transient AttributeCodecRegistry codecRegistry;
+    private transient BError error;
     private final String dN;
 
     public CustomSearchResultListener(CompletableFuture<Object> future, String dN) {
+        this(future, dN, null);
+    }
+
+    public CustomSearchResultListener(CompletableFuture<Object> future, String dN,
+                                      AttributeCodecRegistry codecRegistry) {
         this.dN = dN;
         this.future = future;
+        this.codecRegistry = codecRegistry;
         this.references = new ArrayList<>();
         this.entries = new ArrayList<>();
     }
@@ -65,10 +74,12 @@ public class CustomSearchResultListener implements AsyncSearchResultListener {
             future.complete(Utils.createError(ldapException.getMessage(), ldapException));
             return;
         }
+        if (error != null) {
+            future.complete(error);
+            return;
+        }
         if (entries.isEmpty()) {
-            String errorMessage = String.format(ENTRY_NOT_FOUND, dN);
-            LDAPException ldapException = new LDAPException(ResultCode.OTHER, errorMessage);
-            future.complete(Utils.createError(ldapException.getMessage(), ldapException));
+            future.complete(Utils.createError(String.format(ENTRY_NOT_FOUND, dN), ResultCode.OTHER));
             return;
         }
         future.complete(Utils.createSearchResultRecord(searchResult, references, entries));
@@ -76,9 +87,18 @@ public class CustomSearchResultListener implements AsyncSearchResultListener {
 
     @Override
     public void searchEntryReturned(SearchResultEntry searchEntry) {
+        if (error != null) {
+            return;
+        }
         BMap<BString, Object> entry = Utils.createEntryRecord();
-        for (Attribute attribute : searchEntry.getAttributes()) {
-            processAttribute(attribute, entry);
+        try {
+            for (Attribute attribute : searchEntry.getAttributes()) {
+                processAttribute(attribute, entry, codecRegistry);
+            }
+        } catch (RuntimeException e) {
+            // The future is completed only with the search result, so the failure is reported once it is received.
+            this.error = Utils.createError(e.getMessage(), e);
+            return;
         }
         entries.add(entry);
     }
@@ -98,9 +118,14 @@ public class CustomSearchResultListener implements AsyncSearchResultListener {
         ois.defaultReadObject();
         this.references = new ArrayList<>();
         this.entries = new ArrayList<>();
+        this.error = null;
     }
 
     public void setFuture(CompletableFuture<Object> future) {
         this.future = future;
     }
+
+    public void setCodecRegistry(AttributeCodecRegistry codecRegistry) {
+        this.codecRegistry = codecRegistry;
+    }
 }
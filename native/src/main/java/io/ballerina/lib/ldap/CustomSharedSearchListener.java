@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.AsyncSearchResultListener;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchResultReference;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Callback class to collect the result of a search shared by multiple callers. The collected result is
+ * replayed to the listener of each caller, so that each caller processes the result independently.
+ */
+public class CustomSharedSearchListener implements AsyncSearchResultListener {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private transient CompletableFuture<SearchResult> future;
+    private transient List<SearchResultEntry> entries;
+    private transient List<SearchResultReference> references;
+
+    public CustomSharedSearchListener(CompletableFuture<SearchResult> future) {
+        this.future = future;
+        this.entries = new ArrayList<>();
+        this.references = new ArrayList<>();
+    }
+
+    @Override
+    public void searchResultReceived(AsyncRequestID requestID, SearchResult searchResult) {
+        future.complete(new SearchResult(searchResult.getMessageID(), searchResult.getResultCode(),
+                searchResult.getDiagnosticMessage(), searchResult.getMatchedDN(), searchResult.getReferralURLs(),
+                List.copyOf(entries), List.copyOf(references), entries.size(), references.size(),
+                searchResult.getResponseControls()));
+    }
+
+    @Override
+    public void searchEntryReturned(SearchResultEntry searchEntry) {
+        entries.add(searchEntry);
+    }
+
+    @Override
+    public void searchReferenceReturned(SearchResultReference searchReference) {
+        references.add(searchReference);
+    }
+
+    /**
+     * Delivers a collected search result to a listener, in the same order the server returned it.
+     *
+     * @param searchResult the search result collected by this listener
+     * @param listener     the listener to which the result is delivered
+     */
+    static void replay(SearchResult searchResult, AsyncSearchResultListener listener) {
+        for (SearchResultEntry searchEntry : searchResult.getSearchEntries()) {
+            listener.searchEntryReturned(searchEntry);
+        }
+        for (SearchResultReference searchReference : searchResult.getSearchReferences()) {
+            listener.searchReferenceReturned(searchReference);
+        }
+        listener.searchResultReceived(null, searchResult);
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream oos) throws IOException {
+        oos.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+        ois.defaultReadObject();
+        this.entries = new ArrayList<>();
+        this.references = new ArrayList<>();
+    }
+
+    public void setFuture(CompletableFuture<SearchResult> future) {
+        this.future = future;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.DN;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.SearchScope;
+import com.unboundid.ldap.sdk.ResultCode;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Caches the results of the read operations of a client, evicting the least recently used result when
+ * the capacity is exceeded. A result is served until its time to live elapses, or until an entry it
+ * depends on is changed through the same client.
+ */
+public final class EntryCache {
+    public static final String NATIVE_CACHE = "cache";
+    public static final String CACHE_STATISTICS = "CacheStatistics";
+    public static final BString HITS = fromString("hits");
+    public static final BString MISSES = fromString("misses");
+    public static final BString SIZE = fromString("size");
+    public static final String INVALID_CACHE_CAPACITY_ERROR =
+            "Cache capacity must be between 1 and %d, but found: %d";
+    public static final String INVALID_TIME_TO_LIVE_ERROR = "Cache time to live must be positive, but found: %s";
+    public static final String INVALID_NOT_FOUND_TIME_TO_LIVE_ERROR =
+            "Cache not found time to live must not be negative, but found: %s";
+    /**
+     * The cached result of an entry that does not exist.
+     */
+    static final Object NOT_FOUND = new Object();
+
+    private final long timeToLive;
+    private final long notFoundTimeToLive;
+    private final Map<Key, CachedValue> values;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long generation = 0;
+
+    EntryCache(int capacity, long timeToLive, long notFoundTimeToLive) {
+        this.timeToLive = timeToLive;
+        this.notFoundTimeToLive = notFoundTimeToLive;
+        this.values = new LruMap(capacity);
+    }
+
+    /**
+     * Validates the configurations of a cache.
+     *
+     * @return an error if the capacity or the time to live is not positive, or if the time to live of the entries
+     * not found is negative, or else {@code null}
+     */
+    static BError validateConfig(long capacity, BDecimal timeToLive, BDecimal notFoundTimeToLive) {
+        if (capacity <= 0 || capacity > Integer.MAX_VALUE) {
+            return Utils.createError(String.format(INVALID_CACHE_CAPACITY_ERROR, Integer.MAX_VALUE, capacity),
+                    ResultCode.PARAM_ERROR);
+        }
+        if (timeToLive.decimalValue().signum() <= 0) {
+            return Utils.createError(String.format(INVALID_TIME_TO_LIVE_ERROR, timeToLive),
+                    ResultCode.PARAM_ERROR);
+        }
+        if (notFoundTimeToLive.decimalValue().signum() < 0) {
+            return Utils.createError(String.format(INVALID_NOT_FOUND_TIME_TO_LIVE_ERROR, notFoundTimeToLive),
+                    ResultCode.PARAM_ERROR);
+        }
+        return null;
+    }
+
+    static Key entryKey(String dN, String[] attributes) {
+        return new Key(false, normalize(dN), getAttributesKey(attributes));
+    }
+
+    static Key searchKey(String baseDn, SearchScope scope, String filter, String[] attributes) {
+        return new Key(true, normalize(baseDn), scope.getName() + ":" + filter + ":" + getAttributesKey(attributes));
+    }
+
+    /**
+     * Returns the cached result of the given key, or {@code null} if it is not cached or has expired.
+     */
+    synchronized Object get(Key key) {
+        CachedValue cachedValue = values.get(key);
+        if (Objects.nonNull(cachedValue) && cachedValue.expiryTime() <= System.currentTimeMillis()) {
+            values.remove(key);
+            cachedValue = null;
+        }
+        if (Objects.isNull(cachedValue)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cachedValue.value();
+    }
+
+    /**
+     * Returns a loader to cache the result of a read operation that is about to be sent to the server.
+     * The result is discarded if an entry is changed while the read operation is in progress, since the
+     * result may not reflect the change. A {@link #NOT_FOUND} result is cached only when a time to live
+     * is configured for the entries that do not exist.
+     */
+    synchronized Loader newLoader(Key key) {
+        long startGeneration = generation;
+        return value -> {
+            long valueTimeToLive = value == NOT_FOUND ? notFoundTimeToLive : timeToLive;
+            synchronized (this) {
+                if (startGeneration == generation && valueTimeToLive > 0) {
+                    values.put(key, new CachedValue(value, System.currentTimeMillis() + valueTimeToLive));
+                }
+            }
+        };
+    }
+
+    /**
+     * Discards the cached results that may depend on the given entry. All the search results are discarded,
+     * since a change to an entry may change the entries matched by a search.
+     *
+     * @param dN             the distinguished name of the changed entry
+     * @param includeSubtree whether the entries subordinate to the given entry are changed as well
+     */
+    synchronized void invalidate(String dN, boolean includeSubtree) {
+        generation++;
+        String normalizedDn = normalize(dN);
+        String subtreeSuffix = "," + normalizedDn;
+        Iterator<Key> keys = values.keySet().iterator();
+        while (keys.hasNext()) {
+            Key key = keys.next();
+            if (key.isSearch() || key.dN().equals(normalizedDn)
+                    || (includeSubtree && key.dN().endsWith(subtreeSuffix))) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Discards all the cached results, when the entries changed are not tracked individually.
+     */
+    synchronized void invalidateAll() {
+        generation++;
+        values.clear();
+    }
+
+    synchronized BMap<BString, Object> getStatistics() {
+        BMap<BString, Object> statistics = ValueCreator.createRecordValue(ModuleUtils.getModule(), CACHE_STATISTICS);
+        statistics.put(HITS, hits.get());
+        statistics.put(MISSES, misses.get());
+        statistics.put(SIZE, (long) values.size());
+        return statistics;
+    }
+
+    private static String normalize(String dN) {
+        try {
+            return DN.normalize(dN);
+        } catch (LDAPException e) {
+            return dN.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static String getAttributesKey(String[] attributes) {
+        return Arrays.stream(attributes).map(attribute -> attribute.toLowerCase(Locale.ROOT)).sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private static final class LruMap extends LinkedHashMap<Key, CachedValue> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        LruMap(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedValue> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    record Key(boolean isSearch, String dN, String query) {
+    }
+
+    private record CachedValue(Object value, long expiryTime) {
+    }
+
+    /**
+     * Stores the result of a read operation in the cache.
+     */
+    @FunctionalInterface
+    interface Loader {
+        void load(Object value);
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.asn1.ASN1OctetString;
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.DN;
+import com.unboundid.ldap.sdk.Filter;
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.LDAPSearchException;
+import com.unboundid.ldap.sdk.OperationType;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.RootDSE;
+import com.unboundid.ldap.sdk.SearchRequest;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchScope;
+import com.unboundid.ldap.sdk.controls.SimplePagedResultsControl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.ballerina.lib.ldap.Client.OBJECT_CLASS;
+import static io.ballerina.lib.ldap.Utils.ENTRY_NOT_FOUND;
+
+/**
+ * Resolves the members of a group, including the members of the nested groups. When the server supports the
+ * in-chain matching rule, the members are resolved by the server with a single paged search. Otherwise, the
+ * members are retrieved level by level, requesting the members of a level concurrently over a single connection,
+ * and a member is resolved further only when its own object classes or attributes show that it is a group. Each
+ * entry is retrieved at most once, so a cycle in the nesting of groups is not followed again.
+ */
+public final class GroupResolver {
+    public static final String NATIVE_GROUP_RESOLVER = "groupResolver";
+
+    private static final String IN_CHAIN_MATCHING_RULE = "1.2.840.113556.1.4.1941";
+    private static final String ACTIVE_DIRECTORY_CAPABILITY = "1.2.840.113556.1.4.800";
+    private static final String SUPPORTED_CAPABILITIES = "supportedCapabilities";
+    private static final String DEFAULT_NAMING_CONTEXT = "defaultNamingContext";
+    private static final String MEMBER_OF = "memberOf";
+    private static final String MEMBER = "member";
+    private static final String UNIQUE_MEMBER = "uniqueMember";
+    private static final String[] ATTRIBUTES = {MEMBER, UNIQUE_MEMBER, OBJECT_CLASS};
+    private static final Set<String> GROUP_OBJECT_CLASSES = Set.of("groupofnames", "groupofuniquenames", "group");
+    private static final int MAX_OUTSTANDING_REQUESTS = 100;
+    private static final int PAGE_SIZE = 500;
+    private static final String GROUP_RETRIEVAL_TIMEOUT_ERROR = "Timed out retrieving the members of the group";
+    private static final String GROUP_RETRIEVAL_INTERRUPTED_ERROR = "Interrupted retrieving the members of the group";
+
+    private volatile String inChainBaseDn;
+    private volatile boolean isInChainSupportChecked = false;
+
+    /**
+     * Returns the distinguished names of the members of a group, including the members of the nested groups.
+     * The nested groups themselves are not included.
+     *
+     * @param maxDepth the maximum number of nested levels resolved. The members of a group nested deeper are
+     *                 returned without checking whether they are groups. The server resolves all the levels
+     *                 when it supports the in-chain matching rule, so this is not used then
+     */
+    List<String> resolveMembers(LDAPConnection ldapConnection, String groupDn, int maxDepth) throws LDAPException {
+        String baseDn = getInChainBaseDn(ldapConnection);
+        if (Objects.nonNull(baseDn)) {
+            requireEntry(ldapConnection, groupDn);
+            Filter filter = Filter.createANDFilter(
+                    Filter.createExtensibleMatchFilter(MEMBER_OF, IN_CHAIN_MATCHING_RULE, false, groupDn),
+                    Filter.createNOTFilter(Filter.createEqualityFilter(OBJECT_CLASS, "group")));
+            return searchDns(ldapConnection, baseDn, filter);
+        }
+        return new ArrayList<>(traverse(ldapConnection, groupDn, null, maxDepth).values());
+    }
+
+    /**
+     * Checks whether an entry is a member of a group, either directly or through the nested groups. An entry that
+     * does not exist is not a member of any group.
+     */
+    boolean isMemberOf(LDAPConnection ldapConnection, String dN, String groupDn, int maxDepth)
+            throws LDAPException {
+        if (Objects.nonNull(getInChainBaseDn(ldapConnection))) {
+            requireEntry(ldapConnection, groupDn);
+            try {
+                SearchResultEntry searchEntry = ldapConnection.searchForEntry(dN, SearchScope.BASE,
+                        Filter.createExtensibleMatchFilter(MEMBER_OF, IN_CHAIN_MATCHING_RULE, false, groupDn),
+                        SearchRequest.NO_ATTRIBUTES);
+                return Objects.nonNull(searchEntry);
+            } catch (LDAPSearchException e) {
+                if (e.getResultCode().equals(ResultCode.NO_SUCH_OBJECT)) {
+                    return false;
+                }
+                throw e;
+            }
+        }
+        return traverse(ldapConnection, groupDn, normalize(dN), maxDepth).containsKey(normalize(dN));
+    }
+
+    /**
+     * Fails with the same error as the traversal of the groups when the group does not exist, since the in-chain
+     * search does not distinguish a group that does not exist from a group without members.
+     */
+    private static void requireEntry(LDAPConnection ldapConnection, String dN) throws LDAPException {
+        if (Objects.isNull(ldapConnection.getEntry(dN, SearchRequest.NO_ATTRIBUTES))) {
+            throw new LDAPException(ResultCode.NO_SUCH_OBJECT, String.format(ENTRY_NOT_FOUND, dN));
+        }
+    }
+
+    /**
+     * Collects the members of a group level by level, stopping once the given member is found.
+     *
+     * @return the members keyed by their normalized distinguished names
+     */
+    private static Map<String, String> traverse(LDAPConnection ldapConnection, String groupDn, String targetDn,
+                                                int maxDepth) throws LDAPException {
+        Map<String, String> members = new LinkedHashMap<>();
+        Set<String> visited = new HashSet<>();
+        visited.add(normalize(groupDn));
+        List<String> level = List.of(groupDn);
+        for (int depth = 0; !level.isEmpty(); depth++) {
+            List<SearchResult> searchResults = fetch(ldapConnection, level);
+            List<String> nextLevel = new ArrayList<>();
+            for (int i = 0; i < level.size(); i++) {
+                String dN = level.get(i);
+                SearchResult searchResult = searchResults.get(i);
+                if (searchResult.getEntryCount() == 0) {
+                    if (depth == 0) {
+                        throw new LDAPException(ResultCode.NO_SUCH_OBJECT, String.format(ENTRY_NOT_FOUND, dN));
+                    }
+                    // A member that does not exist is kept as a member, since it is not a group.
+                    members.put(normalize(dN), dN);
+                    continue;
+                }
+                SearchResultEntry searchEntry = searchResult.getSearchEntries().get(0);
+                if (!isGroup(searchEntry)) {
+                    members.put(normalize(dN), dN);
+                    continue;
+                }
+                for (String memberDn : getMembers(searchEntry)) {
+                    String normalizedDn = normalize(memberDn);
+                    if (!visited.add(normalizedDn)) {
+                        continue;
+                    }
+                    if (normalizedDn.equals(targetDn) || depth >= maxDepth) {
+                        members.put(normalizedDn, memberDn);
+                    } else {
+                        nextLevel.add(memberDn);
+                    }
+                }
+            }
+            if (Objects.nonNull(targetDn) && members.containsKey(targetDn)) {
+                break;
+            }
+            level = nextLevel;
+        }
+        return members;
+    }
+
+    /**
+     * Returns the distinguished names of the entries matching a filter, requesting the entries in pages so that
+     * the results are not truncated by the size limit of the server.
+     */
+    private static List<String> searchDns(LDAPConnection ldapConnection, String baseDn, Filter filter)
+            throws LDAPException {
+        List<String> dNs = new ArrayList<>();
+        ASN1OctetString cookie = null;
+        while (true) {
+            SearchRequest searchRequest = new SearchRequest(baseDn, SearchScope.SUB, filter,
+                    SearchRequest.NO_ATTRIBUTES);
+            searchRequest.addControl(new SimplePagedResultsControl(PAGE_SIZE, cookie, false));
+            SearchResult searchResult = ldapConnection.search(searchRequest);
+            for (SearchResultEntry searchEntry : searchResult.getSearchEntries()) {
+                dNs.add(searchEntry.getDN());
+            }
+            SimplePagedResultsControl responseControl = SimplePagedResultsControl.get(searchResult);
+            if (Objects.isNull(responseControl) || !responseControl.moreResultsToReturn()) {
+                return dNs;
+            }
+            cookie = responseControl.getCookie();
+        }
+    }
+
+    /**
+     * Retrieves the given entries, requesting up to {@link #MAX_OUTSTANDING_REQUESTS} entries at a time over the
+     * connection. Each entry is awaited for up to the response timeout of the connection, and the requests still
+     * outstanding are abandoned if the entries cannot be retrieved.
+     *
+     * @return the result of each entry, in the order of the given distinguished names
+     */
+    private static List<SearchResult> fetch(LDAPConnection ldapConnection, List<String> dNs) throws LDAPException {
+        long responseTimeout = ldapConnection.getConnectionOptions().getResponseTimeoutMillis(OperationType.SEARCH);
+        List<SearchResult> searchResults = new ArrayList<>(dNs.size());
+        for (int start = 0; start < dNs.size(); start += MAX_OUTSTANDING_REQUESTS) {
+            List<CompletableFuture<SearchResult>> futures = new ArrayList<>();
+            List<AsyncRequestID> requestIds = new ArrayList<>();
+            try {
+                for (String dN : dNs.subList(start, Math.min(dNs.size(), start + MAX_OUTSTANDING_REQUESTS))) {
+                    CompletableFuture<SearchResult> future = new CompletableFuture<>();
+                    requestIds.add(ldapConnection.asyncSearch(new SearchRequest(new CustomSharedSearchListener(future),
+                            dN, SearchScope.BASE, Filter.createPresenceFilter(OBJECT_CLASS), ATTRIBUTES)));
+                    futures.add(future);
+                }
+                for (CompletableFuture<SearchResult> future : futures) {
+                    SearchResult searchResult = responseTimeout > 0
+                            ? future.get(responseTimeout, TimeUnit.MILLISECONDS) : future.get();
+                    if (!searchResult.getResultCode().equals(ResultCode.SUCCESS)
+                            && !searchResult.getResultCode().equals(ResultCode.NO_SUCH_OBJECT)) {
+                        throw new LDAPException(searchResult);
+                    }
+                    searchResults.add(searchResult);
+                }
+            } catch (LDAPException e) {
+                abandon(ldapConnection, requestIds, futures);
+                throw e;
+            } catch (TimeoutException e) {
+                abandon(ldapConnection, requestIds, futures);
+                throw new LDAPException(ResultCode.TIMEOUT, GROUP_RETRIEVAL_TIMEOUT_ERROR, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandon(ldapConnection, requestIds, futures);
+                throw new LDAPException(ResultCode.LOCAL_ERROR, GROUP_RETRIEVAL_INTERRUPTED_ERROR, e);
+            } catch (ExecutionException e) {
+                abandon(ldapConnection, requestIds, futures);
+                throw new LDAPException(ResultCode.LOCAL_ERROR, e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return searchResults;
+    }
+
+    private static void abandon(LDAPConnection ldapConnection, List<AsyncRequestID> requestIds,
+                                List<CompletableFuture<SearchResult>> futures) {
+        for (int i = 0; i < requestIds.size(); i++) {
+            if (futures.get(i).isDone()) {
+                continue;
+            }
+            try {
+                ldapConnection.abandon(requestIds.get(i));
+            } catch (LDAPException e) {
+                // The remaining requests are abandoned regardless, as the retrieval has already failed.
+            }
+        }
+    }
+
+    private static boolean isGroup(SearchResultEntry searchEntry) {
+        if (searchEntry.hasAttribute(MEMBER) || searchEntry.hasAttribute(UNIQUE_MEMBER)) {
+            return true;
+        }
+        String[] objectClasses = searchEntry.getObjectClassValues();
+        if (Objects.isNull(objectClasses)) {
+            return false;
+        }
+        for (String objectClass : objectClasses) {
+            if (GROUP_OBJECT_CLASSES.contains(objectClass.toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> getMembers(SearchResultEntry searchEntry) {
+        List<String> members = new ArrayList<>();
+        for (String attributeName : new String[]{MEMBER, UNIQUE_MEMBER}) {
+            String[] values = searchEntry.getAttributeValues(attributeName);
+            if (Objects.nonNull(values)) {
+                members.addAll(List.of(values));
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Returns the base of the in-chain searches, or {@code null} if the server does not support the in-chain
+     * matching rule. The support is checked once, with the first request.
+     */
+    private String getInChainBaseDn(LDAPConnection ldapConnection) throws LDAPException {
+        if (!isInChainSupportChecked) {
+            RootDSE rootDSE = ldapConnection.getRootDSE();
+            if (Objects.nonNull(rootDSE) && rootDSE.hasAttributeValue(SUPPORTED_CAPABILITIES,
+                    ACTIVE_DIRECTORY_CAPABILITY)) {
+                inChainBaseDn = rootDSE.getAttributeValue(DEFAULT_NAMING_CONTEXT);
+            }
+            isInChainSupportChecked = true;
+        }
+        return inChainBaseDn;
+    }
+
+    private static String normalize(String dN) {
+        try {
+            return DN.normalize(dN);
+        } catch (LDAPException e) {
+            return dN.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.AddRequest;
+import com.unboundid.ldap.sdk.AsyncResultListener;
+import com.unboundid.ldap.sdk.DN;
+import com.unboundid.ldap.sdk.Entry;
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldif.LDIFAddChangeRecord;
+import com.unboundid.ldif.LDIFDeleteChangeRecord;
+import com.unboundid.ldif.LDIFException;
+import com.unboundid.ldif.LDIFModifyChangeRecord;
+import com.unboundid.ldif.LDIFModifyDNChangeRecord;
+import com.unboundid.ldif.LDIFReader;
+import com.unboundid.ldif.LDIFRecord;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BFunctionPointer;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.ballerina.lib.ldap.Client.NATIVE_CLIENT;
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Imports the records of an LDIF file to the directory server. The file is read and parsed on separate threads,
+ * and the records are sent over a single connection without waiting for the responses, up to a maximum number
+ * of outstanding requests. A record is only held back while a change to the same entry or to one of its ancestors
+ * is in progress, so that the records are applied in the order they depend on each other. A delete or a modify DN
+ * is also held back while a change to any entry of its subtree is in progress, and the new DN of a modify DN is
+ * tracked along with its current DN until the change is completed.
+ */
+public final class LdifImporter {
+    public static final String IMPORT_PROGRESS = "ImportProgress";
+    public static final String IMPORT_RESULT = "ImportResult";
+    public static final String IMPORT_FAILURE = "ImportFailure";
+    public static final BString PROCESSED = fromString("processed");
+    public static final BString SUCCEEDED = fromString("succeeded");
+    public static final BString FAILED = fromString("failed");
+    public static final BString RECORD_NUMBER = fromString("recordNumber");
+    public static final BString MESSAGE = fromString("message");
+    public static final BString FAILURES = fromString("failures");
+
+    private static final BString MAX_OUTSTANDING_REQUESTS = fromString("maxOutstandingRequests");
+    private static final BString PARSE_THREADS = fromString("parseThreads");
+    private static final BString PROGRESS_INTERVAL = fromString("progressInterval");
+    private static final BString PROGRESS_HANDLER = fromString("progressHandler");
+    private static final BString MAX_FAILURES = fromString("maxFailures");
+
+    private final LDAPConnection ldapConnection;
+    private final int maxOutstandingRequests;
+    private final Semaphore outstandingRequests;
+    private final int maxFailures;
+    private final Map<String, CompletableFuture<Void>> pendingChanges = new ConcurrentHashMap<>();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<Failure> failures = new ArrayList<>();
+    private long processed = 0;
+
+    private LdifImporter(LDAPConnection ldapConnection, int maxOutstandingRequests, int maxFailures) {
+        this.ldapConnection = ldapConnection;
+        this.maxOutstandingRequests = maxOutstandingRequests;
+        this.outstandingRequests = new Semaphore(maxOutstandingRequests);
+        this.maxFailures = maxFailures;
+    }
+
+    public static Object importLdif(Environment env, BObject ldapClient, BString path, BMap<BString, Object> options) {
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
+        int maxOutstandingRequests = Math.toIntExact(Math.max(1, options.getIntValue(MAX_OUTSTANDING_REQUESTS)));
+        int parseThreads = Math.toIntExact(Math.max(1, options.getIntValue(PARSE_THREADS)));
+        long progressInterval = Math.max(1, options.getIntValue(PROGRESS_INTERVAL));
+        int maxFailures = Math.toIntExact(Math.max(0, options.getIntValue(MAX_FAILURES)));
+        BFunctionPointer progressHandler = (BFunctionPointer) options.get(PROGRESS_HANDLER);
+        Runtime runtime = env.getRuntime();
+        Object result = env.yieldAndRun(() -> {
+            LDAPConnection ldapConnection;
+            try {
+                ldapConnection = connectionManager.getConnection();
+            } catch (LDAPException e) {
+                return Utils.createError(e.getMessage(), e);
+            }
+            LdifImporter importer = new LdifImporter(ldapConnection, maxOutstandingRequests, maxFailures);
+            try (LDIFReader ldifReader = new LDIFReader(new File(path.getValue()), parseThreads)) {
+                importer.importRecords(ldifReader, progressInterval, progress -> {
+                    if (Objects.nonNull(progressHandler)) {
+                        progressHandler.call(runtime, progress);
+                    }
+                });
+                return importer;
+            } catch (IOException e) {
+                return Utils.createError(e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Utils.createError(e.getMessage(), e);
+            } finally {
+                importer.awaitOutstandingRequests();
+                connectionManager.releaseConnection(ldapConnection);
+                Client.invalidateAllReads(ldapClient);
+            }
+        });
+        if (!(result instanceof LdifImporter importer)) {
+            return result;
+        }
+        return importer.getResult();
+    }
+
+    private void importRecords(LDIFReader ldifReader, long progressInterval, ProgressHandler progressHandler)
+            throws IOException, InterruptedException {
+        long nextProgress = progressInterval;
+        while (true) {
+            LDIFRecord ldifRecord;
+            try {
+                ldifRecord = ldifReader.readLDIFRecord();
+            } catch (LDIFException e) {
+                processed++;
+                addFailure(processed, null, e.getMessage());
+                if (!e.mayContinueReading()) {
+                    break;
+                }
+                continue;
+            }
+            if (Objects.isNull(ldifRecord)) {
+                break;
+            }
+            processed++;
+            submit(processed, ldifRecord);
+            if (processed >= nextProgress) {
+                progressHandler.report(getProgress());
+                nextProgress += progressInterval;
+            }
+        }
+        awaitOutstandingRequests();
+        progressHandler.report(getProgress());
+    }
+
+    private void submit(long recordNumber, LDIFRecord ldifRecord) throws InterruptedException {
+        String dN = ldifRecord.getDN();
+        List<DN> changedDns = new ArrayList<>();
+        try {
+            changedDns.add(ldifRecord.getParsedDN());
+            if (ldifRecord instanceof LDIFModifyDNChangeRecord modifyDnRecord) {
+                changedDns.add(modifyDnRecord.getNewDN());
+            }
+            boolean changesSubtree = ldifRecord instanceof LDIFDeleteChangeRecord
+                    || ldifRecord instanceof LDIFModifyDNChangeRecord;
+            for (DN changedDn : changedDns) {
+                awaitPendingChanges(changedDn, changesSubtree);
+            }
+        } catch (LDAPException e) {
+            addFailure(recordNumber, dN, e.getMessage());
+            return;
+        }
+        outstandingRequests.acquire();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        List<String> normalizedDns = changedDns.stream().map(DN::toNormalizedString).toList();
+        for (String normalizedDn : normalizedDns) {
+            pendingChanges.put(normalizedDn, future);
+        }
+        AsyncResultListener listener = (requestID, ldapResult) -> {
+            if (ldapResult.getResultCode().equals(ResultCode.SUCCESS)) {
+                succeeded.incrementAndGet();
+            } else {
+                addFailure(recordNumber, dN, new LDAPException(ldapResult).getMessage());
+            }
+            for (String normalizedDn : normalizedDns) {
+                pendingChanges.remove(normalizedDn, future);
+            }
+            outstandingRequests.release();
+            future.complete(null);
+        };
+        try {
+            send(ldifRecord, listener);
+        } catch (LDAPException e) {
+            listener.ldapResultReceived(null, e.toLDAPResult());
+        }
+    }
+
+    private void send(LDIFRecord ldifRecord, AsyncResultListener listener) throws LDAPException {
+        if (ldifRecord instanceof Entry entry) {
+            ldapConnection.asyncAdd(new AddRequest(entry), listener);
+        } else if (ldifRecord instanceof LDIFAddChangeRecord addRecord) {
+            ldapConnection.asyncAdd(addRecord.toAddRequest(), listener);
+        } else if (ldifRecord instanceof LDIFDeleteChangeRecord deleteRecord) {
+            ldapConnection.asyncDelete(deleteRecord.toDeleteRequest(), listener);
+        } else if (ldifRecord instanceof LDIFModifyChangeRecord modifyRecord) {
+            ldapConnection.asyncModify(modifyRecord.toModifyRequest(), listener);
+        } else if (ldifRecord instanceof LDIFModifyDNChangeRecord modifyDnRecord) {
+            ldapConnection.asyncModifyDN(modifyDnRecord.toModifyDNRequest(), listener);
+        } else {
+            throw new LDAPException(ResultCode.NOT_SUPPORTED, "Unsupported LDIF record: " + ldifRecord.getDN());
+        }
+    }
+
+    /**
+     * Waits for the changes in progress to the given entry and to each of its ancestors, and also to the entries
+     * of its subtree if the record changes the whole subtree. The records are submitted by a single thread, so no
+     * change that overlaps the entry can be started while waiting.
+     */
+    private void awaitPendingChanges(DN dN, boolean includeSubtree) {
+        for (DN ancestorDn = dN; Objects.nonNull(ancestorDn); ancestorDn = ancestorDn.getParent()) {
+            CompletableFuture<Void> pendingChange = pendingChanges.get(ancestorDn.toNormalizedString());
+            if (Objects.nonNull(pendingChange)) {
+                pendingChange.join();
+            }
+        }
+        if (!includeSubtree) {
+            return;
+        }
+        String subtreeSuffix = "," + dN.toNormalizedString();
+        for (Map.Entry<String, CompletableFuture<Void>> pendingChange : pendingChanges.entrySet()) {
+            if (pendingChange.getKey().endsWith(subtreeSuffix)) {
+                pendingChange.getValue().join();
+            }
+        }
+    }
+
+    private void awaitOutstandingRequests() {
+        outstandingRequests.acquireUninterruptibly(maxOutstandingRequests);
+        outstandingRequests.release(maxOutstandingRequests);
+    }
+
+    private void addFailure(long recordNumber, String dN, String message) {
+        failed.incrementAndGet();
+        synchronized (failures) {
+            if (failures.size() < maxFailures) {
+                failures.add(new Failure(recordNumber, dN, message));
+            }
+        }
+    }
+
+    private BMap<BString, Object> getProgress() {
+        return putProgress(ValueCreator.createRecordValue(ModuleUtils.getModule(), IMPORT_PROGRESS));
+    }
+
+    private BMap<BString, Object> getResult() {
+        BMap<BString, Object> result = putProgress(ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                IMPORT_RESULT));
+        RecordType resultType = (RecordType) TypeUtils.getImpliedType(result.getType());
+        ArrayType failuresType = (ArrayType) TypeUtils.getImpliedType(
+                resultType.getFields().get(FAILURES.getValue()).getFieldType());
+        Object[] failureRecords = failures.stream().map(Failure::toRecord).toArray();
+        result.put(FAILURES, ValueCreator.createArrayValue(failureRecords, failuresType));
+        return result;
+    }
+
+    private BMap<BString, Object> putProgress(BMap<BString, Object> progress) {
+        progress.put(PROCESSED, processed);
+        progress.put(SUCCEEDED, succeeded.get());
+        progress.put(FAILED, failed.get());
+        return progress;
+    }
+
+    private record Failure(long recordNumber, String dN, String message) {
+        BMap<BString, Object> toRecord() {
+            BMap<BString, Object> failure = ValueCreator.createRecordValue(ModuleUtils.getModule(), IMPORT_FAILURE);
+            failure.put(RECORD_NUMBER, recordNumber);
+            if (Objects.nonNull(dN)) {
+                failure.put(Client.DN, fromString(dN));
+            }
+            failure.put(MESSAGE, fromString(Objects.requireNonNullElse(message, "")));
+            return failure;
+        }
+    }
+
+    /**
+     * Reports the progress of an import to the caller.
+     */
+    @FunctionalInterface
+    private interface ProgressHandler {
+        void report(BMap<BString, Object> progress);
+    }
+}
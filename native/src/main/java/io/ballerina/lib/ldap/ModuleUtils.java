@@ -39,4 +39,11 @@ public final class ModuleUtils {
     public static void setModule(Environment env) {
         ldapModule = env.getCurrentModule();
     }
+
+    /**
+     * Sets the module when the native code runs outside a Ballerina program, as in the benchmarks.
+     */
+    static void setModule(Module module) {
+        ldapModule = module;
+    }
 }
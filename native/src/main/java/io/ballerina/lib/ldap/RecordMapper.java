@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.ballerina.lib.ldap.Client.processAttribute;
+
+/**
+ * Maps search result entries directly to a record type. The mapping of each attribute to a field of the record
+ * is resolved once per record type, so that each entry is mapped without an intermediate map or a conversion
+ * of the whole entry to the target type.
+ */
+public final class RecordMapper {
+    public static final String MULTI_VALUED_ATTRIBUTE_ERROR =
+            "Attribute '%s' has multiple values and cannot be mapped to the field of type '%s'";
+    public static final String INVALID_ATTRIBUTE_VALUE_ERROR =
+            "Value '%s' of attribute '%s' cannot be mapped to the field of type '%s'";
+    public static final String INCOMPATIBLE_ATTRIBUTE_VALUE_ERROR =
+            "Attribute '%s' is decoded to a value of type '%s', which cannot be mapped to the field of type '%s'";
+    public static final String MISSING_REQUIRED_FIELD_ERROR = "Missing required field '%s' of type '%s' in entry";
+
+    private static final Map<Type, Optional<RecordMapper>> MAPPERS = new ConcurrentHashMap<>();
+
+    private final RecordType recordType;
+    private final Map<String, FieldMapper> fieldMappers;
+    private final List<Field> requiredFields;
+    private final boolean isOpen;
+
+    private RecordMapper(RecordType recordType, Map<String, FieldMapper> fieldMappers, List<Field> requiredFields,
+                         boolean isOpen) {
+        this.recordType = recordType;
+        this.fieldMappers = fieldMappers;
+        this.requiredFields = requiredFields;
+        this.isOpen = isOpen;
+    }
+
+    /**
+     * Returns the mapper of the given type.
+     *
+     * @param targetType the type to which the entries are mapped
+     * @return the mapper, or an empty value if the entries cannot be mapped directly to the given type
+     */
+    static Optional<RecordMapper> getMapper(Type targetType) {
+        return MAPPERS.computeIfAbsent(targetType, RecordMapper::createMapper);
+    }
+
+    private static Optional<RecordMapper> createMapper(Type targetType) {
+        Type type = TypeUtils.getImpliedType(targetType);
+        if (type.getTag() != TypeTags.RECORD_TYPE_TAG || type.isReadOnly()) {
+            return Optional.empty();
+        }
+        RecordType recordType = (RecordType) type;
+        boolean isOpen = !recordType.isSealed();
+        if (isOpen && getValueKind(recordType.getRestFieldType()) != ValueKind.ANY) {
+            return Optional.empty();
+        }
+        Map<String, FieldMapper> fieldMappers = new HashMap<>();
+        List<Field> requiredFields = new ArrayList<>();
+        for (Field field : recordType.getFields().values()) {
+            ValueKind valueKind = getValueKind(field.getFieldType());
+            if (Objects.isNull(valueKind)) {
+                return Optional.empty();
+            }
+            fieldMappers.put(field.getFieldName(), new FieldMapper(StringUtils.fromString(field.getFieldName()),
+                    valueKind, field.getFieldType()));
+            if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED)) {
+                requiredFields.add(field);
+            }
+        }
+        return Optional.of(new RecordMapper(recordType, fieldMappers, requiredFields, isOpen));
+    }
+
+    /**
+     * Resolves how the values of an attribute are mapped to a value of the given type.
+     *
+     * @return the kind of the value, or {@code null} if the attribute cannot be mapped directly to the type
+     */
+    private static ValueKind getValueKind(Type fieldType) {
+        Type type = TypeUtils.getImpliedType(fieldType);
+        switch (type.getTag()) {
+            case TypeTags.STRING_TAG:
+                return ValueKind.STRING;
+            case TypeTags.INT_TAG:
+                return ValueKind.INT;
+            case TypeTags.FLOAT_TAG:
+                return ValueKind.FLOAT;
+            case TypeTags.DECIMAL_TAG:
+                return ValueKind.DECIMAL;
+            case TypeTags.BOOLEAN_TAG:
+                return ValueKind.BOOLEAN;
+            case TypeTags.ANYDATA_TAG:
+            case TypeTags.JSON_TAG:
+                return ValueKind.ANY;
+            case TypeTags.ARRAY_TAG:
+                Type elementType = TypeUtils.getImpliedType(((ArrayType) type).getElementType());
+                return elementType.getTag() == TypeTags.STRING_TAG ? ValueKind.STRING_ARRAY : null;
+            case TypeTags.UNION_TAG:
+                return getUnionValueKind((UnionType) type);
+            default:
+                return null;
+        }
+    }
+
+    private static ValueKind getUnionValueKind(UnionType unionType) {
+        List<ValueKind> memberKinds = new ArrayList<>();
+        for (Type memberType : unionType.getMemberTypes()) {
+            if (TypeUtils.getImpliedType(memberType).getTag() == TypeTags.NULL_TAG) {
+                continue;
+            }
+            ValueKind memberKind = getValueKind(memberType);
+            if (Objects.isNull(memberKind)) {
+                return null;
+            }
+            memberKinds.add(memberKind);
+        }
+        if (memberKinds.size() == 1) {
+            return memberKinds.get(0);
+        }
+        if (memberKinds.size() == 2 && memberKinds.contains(ValueKind.STRING)
+                && memberKinds.contains(ValueKind.STRING_ARRAY)) {
+            return ValueKind.STRING_OR_STRING_ARRAY;
+        }
+        return null;
+    }
+
+    /**
+     * Maps a search result entry to a value of the record type of this mapper, decoding the values of each
+     * attribute with the given registry, or with the default registry if a registry is not given.
+     *
+     * @return the record value, or an error if an attribute cannot be mapped to its field
+     */
+    Object map(SearchResultEntry searchEntry, AttributeCodecRegistry codecRegistry) {
+        AttributeCodecRegistry registry = Objects.isNull(codecRegistry) ? AttributeCodecRegistry.DEFAULT
+                : codecRegistry;
+        BMap<BString, Object> entry = ValueCreator.createRecordValue(recordType.getPackage(), recordType.getName());
+        for (Attribute attribute : searchEntry.getAttributes()) {
+            FieldMapper fieldMapper = fieldMappers.get(attribute.getName());
+            if (Objects.nonNull(fieldMapper)) {
+                try {
+                    entry.put(fieldMapper.fieldName(), fieldMapper.map(attribute, registry));
+                } catch (IllegalArgumentException e) {
+                    return Utils.createError(e.getMessage(), e);
+                }
+            } else if (isOpen) {
+                processAttribute(attribute, entry, registry);
+            }
+        }
+        for (Field field : requiredFields) {
+            if (!entry.containsKey(StringUtils.fromString(field.getFieldName()))) {
+                String message = String.format(MISSING_REQUIRED_FIELD_ERROR, field.getFieldName(),
+                        field.getFieldType());
+                return Utils.createError(message, new IllegalArgumentException(message));
+            }
+        }
+        return entry;
+    }
+
+    private enum ValueKind {
+        STRING, INT, FLOAT, DECIMAL, BOOLEAN, STRING_ARRAY, STRING_OR_STRING_ARRAY, ANY
+    }
+
+    /**
+     * Maps the values of an attribute to the value of a field. The values are decoded with the codec registry of
+     * the client, and the decoded value is then converted to the type of the field when it is a string, or rejected
+     * when it cannot be represented by the type of the field.
+     */
+    private record FieldMapper(BString fieldName, ValueKind valueKind, Type fieldType) {
+
+        Object map(Attribute attribute, AttributeCodecRegistry codecRegistry) {
+            Object value = codecRegistry.decode(attribute);
+            if (valueKind == ValueKind.ANY) {
+                return value;
+            }
+            if (valueKind == ValueKind.STRING_OR_STRING_ARRAY || valueKind == ValueKind.STRING_ARRAY) {
+                if (isStringArray(value)) {
+                    return value;
+                } else if (value instanceof BString stringValue) {
+                    return valueKind == ValueKind.STRING_ARRAY
+                            ? ValueCreator.createArrayValue(new BString[]{stringValue}) : stringValue;
+                }
+                throw incompatibleValueError(attribute, value);
+            }
+            if (value instanceof BArray arrayValue && isMultipleValues(arrayValue)) {
+                if (arrayValue.size() != 1) {
+                    throw new IllegalArgumentException(String.format(MULTI_VALUED_ATTRIBUTE_ERROR,
+                            attribute.getName(), fieldType));
+                }
+                value = arrayValue.get(0);
+            }
+            if (value instanceof BString stringValue) {
+                return parse(attribute, stringValue.getValue());
+            } else if ((valueKind == ValueKind.INT && value instanceof Long)
+                    || (valueKind == ValueKind.BOOLEAN && value instanceof Boolean)) {
+                return value;
+            }
+            throw incompatibleValueError(attribute, value);
+        }
+
+        private Object parse(Attribute attribute, String value) {
+            try {
+                return switch (valueKind) {
+                    case INT -> Long.parseLong(value);
+                    case FLOAT -> Double.parseDouble(value);
+                    case DECIMAL -> ValueCreator.createDecimalValue(new BigDecimal(value));
+                    case BOOLEAN -> parseBoolean(value);
+                    default -> StringUtils.fromString(value);
+                };
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format(INVALID_ATTRIBUTE_VALUE_ERROR, value,
+                        attribute.getName(), fieldType), e);
+            }
+        }
+
+        private IllegalArgumentException incompatibleValueError(Attribute attribute, Object value) {
+            return new IllegalArgumentException(String.format(INCOMPATIBLE_ATTRIBUTE_VALUE_ERROR, attribute.getName(),
+                    TypeUtils.getType(value), fieldType));
+        }
+
+        private static boolean isStringArray(Object value) {
+            return value instanceof BArray arrayValue
+                    && TypeUtils.getImpliedType(arrayValue.getElementType()).getTag() == TypeTags.STRING_TAG;
+        }
+
+        /**
+         * Returns whether an array holds the values of a multi-valued attribute, rather than being a single
+         * {@code byte[]} or {@code time:Utc} value.
+         */
+        private static boolean isMultipleValues(BArray arrayValue) {
+            return TypeUtils.getImpliedType(TypeUtils.getType(arrayValue)).getTag() == TypeTags.ARRAY_TAG
+                    && TypeUtils.getImpliedType(arrayValue.getElementType()).getTag() != TypeTags.BYTE_TAG;
+        }
+
+        private static boolean parseBoolean(String value) {
+            return switch (value.toUpperCase(Locale.ROOT)) {
+                case "TRUE" -> true;
+                case "FALSE" -> false;
+                default -> throw new IllegalArgumentException(value);
+            };
+        }
+    }
+}
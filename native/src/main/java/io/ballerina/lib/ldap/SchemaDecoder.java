@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.schema.AttributeTypeDefinition;
+import com.unboundid.ldap.sdk.schema.Schema;
+import com.unboundid.util.StaticUtils;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes attribute values to Ballerina values based on the attribute syntax defined in the schema of the
+ * server. An attribute defined as single-valued is always decoded to a single value, and any other attribute
+ * is always decoded to an array, regardless of the number of values in an entry.
+ */
+public final class SchemaDecoder {
+    public static final String SCHEMA_NOT_AVAILABLE_ERROR = "The schema of the directory server is not available";
+
+    private static final String INTEGER_SYNTAX = "1.3.6.1.4.1.1466.115.121.1.27";
+    private static final String BOOLEAN_SYNTAX = "1.3.6.1.4.1.1466.115.121.1.7";
+    private static final String GENERALIZED_TIME_SYNTAX = "1.3.6.1.4.1.1466.115.121.1.24";
+    private static final List<String> BINARY_SYNTAXES = List.of(
+            "1.3.6.1.4.1.1466.115.121.1.5", // Binary
+            "1.3.6.1.4.1.1466.115.121.1.8", // Certificate
+            "1.3.6.1.4.1.1466.115.121.1.9", // Certificate List
+            "1.3.6.1.4.1.1466.115.121.1.10", // Certificate Pair
+            "1.3.6.1.4.1.1466.115.121.1.28", // JPEG
+            "1.3.6.1.4.1.1466.115.121.1.40" // Octet String
+    );
+    private static final TupleType UTC_TYPE = TypeCreator.createTupleType(
+            List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_DECIMAL));
+    private static final ArrayType UTC_ARRAY_TYPE = TypeCreator.createArrayType(UTC_TYPE);
+    private static final ArrayType BYTE_ARRAY_ARRAY_TYPE = TypeCreator.createArrayType(
+            TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE));
+
+    private final Schema schema;
+    private final Map<String, Decoding> decodings = new ConcurrentHashMap<>();
+
+    SchemaDecoder(Schema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Decodes the values of an attribute.
+     *
+     * @param attribute the attribute to decode
+     * @return the decoded value, or {@code null} if the attribute is not defined in the schema or its values
+     *         do not conform to the attribute syntax
+     */
+    Object decode(Attribute attribute) {
+        Decoding decoding = decodings.computeIfAbsent(attribute.getBaseName().toLowerCase(Locale.ROOT),
+                this::getDecoding);
+        if (decoding.valueKind() == ValueKind.UNDEFINED) {
+            return null;
+        }
+        try {
+            return decoding.isSingleValued() ? decodeValue(attribute, decoding.valueKind())
+                    : decodeValues(attribute, decoding.valueKind());
+        } catch (IllegalArgumentException | ParseException e) {
+            return null;
+        }
+    }
+
+    private Decoding getDecoding(String attributeName) {
+        AttributeTypeDefinition attributeType = schema.getAttributeType(attributeName);
+        if (Objects.isNull(attributeType)) {
+            return new Decoding(ValueKind.UNDEFINED, false);
+        }
+        String syntax = attributeType.getBaseSyntaxOID(schema);
+        ValueKind valueKind;
+        if (Objects.isNull(syntax)) {
+            valueKind = ValueKind.STRING;
+        } else if (syntax.equals(INTEGER_SYNTAX)) {
+            valueKind = ValueKind.INT;
+        } else if (syntax.equals(BOOLEAN_SYNTAX)) {
+            valueKind = ValueKind.BOOLEAN;
+        } else if (syntax.equals(GENERALIZED_TIME_SYNTAX)) {
+            valueKind = ValueKind.TIME;
+        } else if (BINARY_SYNTAXES.contains(syntax)) {
+            valueKind = ValueKind.BINARY;
+        } else {
+            valueKind = ValueKind.STRING;
+        }
+        return new Decoding(valueKind, attributeType.isSingleValued());
+    }
+
+    private static Object decodeValue(Attribute attribute, ValueKind valueKind) throws ParseException {
+        if (valueKind == ValueKind.BINARY) {
+            return ValueCreator.createArrayValue(attribute.getValueByteArray());
+        }
+        String value = attribute.getValue();
+        return switch (valueKind) {
+            case INT -> Long.parseLong(value);
+            case BOOLEAN -> parseBoolean(value);
+            case TIME -> toUtc(value);
+            default -> StringUtils.fromString(value);
+        };
+    }
+
+    private static BArray decodeValues(Attribute attribute, ValueKind valueKind) throws ParseException {
+        String[] values = attribute.getValues();
+        switch (valueKind) {
+            case INT:
+                long[] intValues = new long[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    intValues[i] = Long.parseLong(values[i]);
+                }
+                return ValueCreator.createArrayValue(intValues);
+            case BOOLEAN:
+                boolean[] booleanValues = new boolean[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    booleanValues[i] = parseBoolean(values[i]);
+                }
+                return ValueCreator.createArrayValue(booleanValues);
+            case TIME:
+                Object[] timeValues = new Object[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    timeValues[i] = toUtc(values[i]);
+                }
+                return ValueCreator.createArrayValue(timeValues, UTC_ARRAY_TYPE);
+            case BINARY:
+                Object[] binaryValues = Arrays.stream(attribute.getValueByteArrays())
+                        .map(ValueCreator::createArrayValue).toArray();
+                return ValueCreator.createArrayValue(binaryValues, BYTE_ARRAY_ARRAY_TYPE);
+            default:
+                return ValueCreator.createArrayValue(Arrays.stream(values).map(StringUtils::fromString)
+                        .toArray(BString[]::new));
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        return switch (value.toUpperCase(Locale.ROOT)) {
+            case "TRUE" -> true;
+            case "FALSE" -> false;
+            default -> throw new IllegalArgumentException(value);
+        };
+    }
+
+    /**
+     * Converts a generalized time value to a `time:Utc` value, which is a tuple of the seconds since the epoch
+     * and the fraction of the second.
+     */
+    private static BArray toUtc(String value) throws ParseException {
+        long epochMillis = StaticUtils.decodeGeneralizedTime(value).getTime();
+        BArray utc = ValueCreator.createTupleValue(UTC_TYPE);
+        utc.add(0, Math.floorDiv(epochMillis, 1000));
+        utc.add(1, ValueCreator.createDecimalValue(BigDecimal.valueOf(Math.floorMod(epochMillis, 1000), 3)));
+        utc.freezeDirect();
+        return utc;
+    }
+
+    private enum ValueKind {
+        UNDEFINED, STRING, INT, BOOLEAN, TIME, BINARY
+    }
+
+    private record Decoding(ValueKind valueKind, boolean isSingleValued) {
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.ldap.sdk.SearchResult;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces the identical searches requested concurrently through a client, so that a single request is sent
+ * to the server and its result is shared by all the callers.
+ */
+public final class SearchCoalescer {
+    public static final String NATIVE_COALESCER = "coalescer";
+
+    private final Map<EntryCache.Key, CompletableFuture<SearchResult>> searches = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the search in progress for the given key, or starts a new search using the given sender.
+     *
+     * @param key    the key identifying the base DN, scope, filter and attributes of the search
+     * @param sender sends the search request, completing the given future with its result
+     * @param onShared invoked when the search in progress is shared instead of sending a new request
+     * @return the future completed with the result of the search
+     */
+    CompletableFuture<SearchResult> search(EntryCache.Key key, Consumer<CompletableFuture<SearchResult>> sender,
+                                           Runnable onShared) {
+        CompletableFuture<SearchResult> search = new CompletableFuture<>();
+        CompletableFuture<SearchResult> inFlightSearch = searches.putIfAbsent(key, search);
+        if (Objects.nonNull(inFlightSearch)) {
+            onShared.run();
+            return inFlightSearch;
+        }
+        search.whenComplete((result, throwable) -> searches.remove(key, search));
+        sender.accept(search);
+        return search;
+    }
+
+    /**
+     * Stops sharing the searches in progress with later callers, so that a search requested after an entry is
+     * changed is sent to the server rather than joining a search that may not reflect the change.
+     */
+    void invalidate() {
+        searches.clear();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.asn1.ASN1OctetString;
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.SearchRequest;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchScope;
+import com.unboundid.ldap.sdk.controls.SimplePagedResultsControl;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+import static io.ballerina.lib.ldap.Client.processAttribute;
+
+/**
+ * Iterates over the entries of a search, retrieving them from the server page by page using
+ * the simple paged results control. A page is requested only when the entries of the previous
+ * page have been consumed, so only a single page of entries is held in memory at a time.
+ */
+public final class SearchResultIterator {
+    public static final String SEARCH_RESULT_ITERATOR = "SearchResultIterator";
+    public static final String NATIVE_ITERATOR = "iterator";
+
+    private final ConnectionManager connectionManager;
+    private final String baseDn;
+    private final SearchScope scope;
+    private final String filter;
+    private final String[] attributes;
+    private final int pageSize;
+    private final Type targetType;
+    private final AttributeCodecRegistry codecRegistry;
+    private final Deque<SearchResultEntry> entries = new ArrayDeque<>();
+    private LDAPConnection ldapConnection;
+    private ASN1OctetString cookie;
+    private boolean isCompleted = false;
+    private BError error;
+
+    SearchResultIterator(ConnectionManager connectionManager, String baseDn, SearchScope scope, String filter,
+                         String[] attributes, int pageSize, Type targetType, AttributeCodecRegistry codecRegistry) {
+        this.connectionManager = connectionManager;
+        this.baseDn = baseDn;
+        this.scope = scope;
+        this.filter = filter;
+        this.attributes = attributes;
+        this.pageSize = pageSize;
+        this.targetType = targetType;
+        this.codecRegistry = codecRegistry;
+    }
+
+    public static Object nextEntry(Environment env, BObject iterator) {
+        SearchResultIterator searchResultIterator = (SearchResultIterator) iterator.getNativeData(NATIVE_ITERATOR);
+        return env.yieldAndRun(() -> {
+            synchronized (searchResultIterator) {
+                try {
+                    return searchResultIterator.next();
+                } catch (LDAPException e) {
+                    searchResultIterator.complete();
+                    return Utils.createError(e.getMessage(), e);
+                } catch (Throwable e) {
+                    searchResultIterator.complete();
+                    return Utils.createError(e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    public static Object close(Environment env, BObject iterator) {
+        SearchResultIterator searchResultIterator = (SearchResultIterator) iterator.getNativeData(NATIVE_ITERATOR);
+        return env.yieldAndRun(() -> {
+            synchronized (searchResultIterator) {
+                searchResultIterator.abandon();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Completes the search without sending it, so that the given error is returned as the next value.
+     */
+    void fail(BError error) {
+        this.error = error;
+        this.isCompleted = true;
+    }
+
+    private Object next() throws LDAPException {
+        if (Objects.nonNull(error)) {
+            BError failure = error;
+            error = null;
+            return failure;
+        }
+        while (entries.isEmpty()) {
+            if (isCompleted) {
+                return null;
+            }
+            fetchNextPage();
+        }
+        SearchResultEntry searchEntry = entries.poll();
+        if (Objects.nonNull(targetType)) {
+            Object entry = CustomEntryListener.toEntry(searchEntry, targetType, codecRegistry);
+            if (entry instanceof BError) {
+                complete();
+            }
+            return entry;
+        }
+        BMap<BString, Object> entry = Utils.createEntryRecord();
+        for (Attribute attribute : searchEntry.getAttributes()) {
+            processAttribute(attribute, entry, codecRegistry);
+        }
+        return entry;
+    }
+
+    private void fetchNextPage() throws LDAPException {
+        if (Objects.isNull(ldapConnection)) {
+            // The paged results cookie is only valid on the connection the search was started with.
+            ldapConnection = connectionManager.getReadConnection();
+        }
+        SearchRequest searchRequest = new SearchRequest(baseDn, scope, filter, attributes);
+        searchRequest.addControl(new SimplePagedResultsControl(pageSize, cookie, false));
+        SearchResult searchResult = ldapConnection.search(searchRequest);
+        entries.addAll(searchResult.getSearchEntries());
+        SimplePagedResultsControl responseControl = SimplePagedResultsControl.get(searchResult);
+        if (Objects.nonNull(responseControl) && responseControl.moreResultsToReturn()) {
+            cookie = responseControl.getCookie();
+        } else {
+            complete();
+        }
+    }
+
+    private void abandon() {
+        entries.clear();
+        if (!isCompleted && Objects.nonNull(ldapConnection) && Objects.nonNull(cookie)) {
+            // A page size of zero lets the server release the resources held for the search.
+            try {
+                SearchRequest searchRequest = new SearchRequest(baseDn, scope, filter, attributes);
+                searchRequest.addControl(new SimplePagedResultsControl(0, cookie, false));
+                ldapConnection.search(searchRequest);
+            } catch (LDAPException e) {
+                // The search is discarded regardless of whether the server acknowledged it.
+            }
+        }
+        complete();
+    }
+
+    private void complete() {
+        isCompleted = true;
+        cookie = null;
+        connectionManager.releaseReadConnection(ldapConnection);
+        ldapConnection = null;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ldap;
+
+import com.unboundid.asn1.ASN1OctetString;
+import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.Entry;
+import com.unboundid.ldap.sdk.Filter;
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.SearchRequest;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchResultListener;
+import com.unboundid.ldap.sdk.SearchResultReference;
+import com.unboundid.ldap.sdk.SearchScope;
+import com.unboundid.ldap.sdk.controls.SimplePagedResultsControl;
+import com.unboundid.ldif.LDIFWriter;
+import com.unboundid.util.Base64;
+import com.unboundid.util.ByteStringBuffer;
+import com.unboundid.util.json.JSONBuffer;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static io.ballerina.lib.ldap.Client.NATIVE_CLIENT;
+
+/**
+ * Exports the entries of a subtree to a file, either as LDIF or as JSON Lines. The entries are retrieved page
+ * by page using the simple paged results control, and each entry is written to the file as it is received,
+ * so the entries are never held in memory or converted to Ballerina values.
+ */
+public final class SubtreeExporter {
+    public static final String JSON_LINES = "JSON_LINES";
+    private static final String DN = "dn";
+    private static final String BINARY_OPTION = ";binary";
+
+    private SubtreeExporter() {
+    }
+
+    public static Object exportSubtree(Environment env, BObject ldapClient, BString baseDn, BString filter,
+                                       BString path, BString format, long pageSize) {
+        ConnectionManager connectionManager = (ConnectionManager) ldapClient.getNativeData(NATIVE_CLIENT);
+        BError pageSizeError = Utils.validatePageSize(pageSize);
+        if (Objects.nonNull(pageSizeError)) {
+            return pageSizeError;
+        }
+        Filter searchFilter;
+        try {
+            searchFilter = Filter.create(filter.getValue());
+        } catch (LDAPException e) {
+            return Utils.createError(e.getMessage(), e);
+        }
+        return env.yieldAndRun(() -> {
+            LDAPConnection ldapConnection;
+            try {
+                ldapConnection = connectionManager.getReadConnection();
+            } catch (LDAPException e) {
+                return Utils.createError(e.getMessage(), e);
+            }
+            try (EntryWriter entryWriter = createEntryWriter(path.getValue(), format.getValue())) {
+                return export(ldapConnection, baseDn.getValue(), searchFilter, Math.toIntExact(pageSize),
+                        entryWriter);
+            } catch (LDAPException e) {
+                return Utils.createError(e.getMessage(), e);
+            } catch (IOException e) {
+                return Utils.createError(e.getMessage(), e);
+            } finally {
+                connectionManager.releaseReadConnection(ldapConnection);
+            }
+        });
+    }
+
+    private static long export(LDAPConnection ldapConnection, String baseDn, Filter filter, int pageSize,
+                               EntryWriter entryWriter) throws LDAPException, IOException {
+        WritingSearchListener listener = new WritingSearchListener(entryWriter);
+        ASN1OctetString cookie = null;
+        while (true) {
+            SearchRequest searchRequest = new SearchRequest(listener, baseDn, SearchScope.SUB, filter);
+            searchRequest.addControl(new SimplePagedResultsControl(pageSize, cookie, false));
+            SearchResult searchResult = ldapConnection.search(searchRequest);
+            SimplePagedResultsControl responseControl = SimplePagedResultsControl.get(searchResult);
+            boolean hasMoreResults = Objects.nonNull(responseControl) && responseControl.moreResultsToReturn();
+            try {
+                listener.throwIfFailed();
+            } catch (IOException e) {
+                if (hasMoreResults) {
+                    abandon(ldapConnection, baseDn, filter, responseControl.getCookie());
+                }
+                throw e;
+            }
+            if (!hasMoreResults) {
+                return listener.getCount();
+            }
+            cookie = responseControl.getCookie();
+        }
+    }
+
+    /**
+     * Abandons a paged search that is not read to the end, as the connection is returned to the pool and the
+     * server would otherwise hold the resources of the search until the connection is closed.
+     */
+    private static void abandon(LDAPConnection ldapConnection, String baseDn, Filter filter,
+                                ASN1OctetString cookie) {
+        // A page size of zero lets the server release the resources held for the search.
+        try {
+            SearchRequest searchRequest = new SearchRequest(baseDn, SearchScope.SUB, filter);
+            searchRequest.addControl(new SimplePagedResultsControl(0, cookie, false));
+            ldapConnection.search(searchRequest);
+        } catch (LDAPException e) {
+            // The search is discarded regardless of whether the server acknowledged it.
+        }
+    }
+
+    private static EntryWriter createEntryWriter(String path, String format) throws IOException {
+        if (format.equals(JSON_LINES)) {
+            return new JsonLinesWriter(new BufferedOutputStream(new FileOutputStream(path)));
+        }
+        LDIFWriter ldifWriter = new LDIFWriter(path);
+        return new EntryWriter() {
+            @Override
+            public void write(Entry entry) throws IOException {
+                ldifWriter.writeEntry(entry);
+            }
+
+            @Override
+            public void close() throws IOException {
+                ldifWriter.close();
+            }
+        };
+    }
+
+    /**
+     * Writes entries to a file.
+     */
+    private interface EntryWriter extends Closeable {
+        void write(Entry entry) throws IOException;
+    }
+
+    /**
+     * Writes each entry as a single line JSON object with the {@code dn} of the entry and an array of the values
+     * of each attribute. The values of a binary attribute are written as Base64 encoded strings under the name of
+     * the attribute with the {@code ;binary} option, so that these are not mistaken for string values.
+     */
+    private static final class JsonLinesWriter implements EntryWriter {
+        private final OutputStream outputStream;
+        private final JSONBuffer jsonBuffer = new JSONBuffer(new ByteStringBuffer(), 0, false);
+
+        JsonLinesWriter(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(Entry entry) throws IOException {
+            jsonBuffer.clear();
+            jsonBuffer.beginObject();
+            jsonBuffer.appendString(DN, entry.getDN());
+            for (Attribute attribute : entry.getAttributes()) {
+                boolean isBinary = attribute.needsBase64Encoding();
+                jsonBuffer.beginArray(isBinary ? attribute.getName() + BINARY_OPTION : attribute.getName());
+                for (byte[] value : attribute.getValueByteArrays()) {
+                    jsonBuffer.appendString(isBinary ? Base64.encode(value)
+                            : new String(value, StandardCharsets.UTF_8));
+                }
+                jsonBuffer.endArray();
+            }
+            jsonBuffer.endObject();
+            jsonBuffer.writeTo(outputStream);
+            outputStream.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
+        }
+    }
+
+    /**
+     * Callback class to write the entries of a search to a file as they are received. A failure to write is
+     * kept and reported once the search is completed, since it cannot be thrown from the callback.
+     */
+    private static final class WritingSearchListener implements SearchResultListener {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private transient EntryWriter entryWriter;
+        private transient IOException failure;
+        private long count = 0;
+
+        WritingSearchListener(EntryWriter entryWriter) {
+            this.entryWriter = entryWriter;
+        }
+
+        @Override
+        public void searchEntryReturned(SearchResultEntry searchEntry) {
+            if (Objects.nonNull(failure)) {
+                return;
+            }
+            try {
+                entryWriter.write(searchEntry);
+                count++;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public void searchReferenceReturned(SearchResultReference searchReference) {
+            // References to other servers are not followed by an export.
+        }
+
+        void throwIfFailed() throws IOException {
+            if (Objects.nonNull(failure)) {
+                throw failure;
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Serial
+        private void writeObject(ObjectOutputStream oos) throws IOException {
+            oos.defaultWriteObject();
+        }
+
+        @Serial
+        private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+            ois.defaultReadObject();
+        }
+    }
+}
@@ -20,6 +20,7 @@ package io.ballerina.lib.ldap;
 
 import com.unboundid.ldap.sdk.Control;
 import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.ResultCode;
 import com.unboundid.ldap.sdk.SearchResult;
 import com.unboundid.ldap.sdk.SearchResultReference;
 import com.unboundid.ldap.sdk.SearchScope;
@@ -27,13 +28,18 @@ import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -72,6 +78,9 @@ public final class Utils {
     public static final String SID_REVISION_ERROR = "objectSid revision must be 1";
     public static final String OBJECT_GUID_LENGTH_ERROR = "objectGUID must be a 16-byte array";
     public static final String LDAP_CONNECTION_CLOSED_ERROR = "LDAP Connection has been closed";
+    public static final String INVALID_PAGE_SIZE_ERROR = "Page size must be between 1 and %d, but found: %d";
+
+    private static Type errorType = null;
 
     public static BError createError(String message, Throwable throwable) {
         BError cause = Objects.isNull(throwable) ? null : ErrorCreator.createError(throwable);
@@ -80,13 +89,70 @@ public final class Utils {
 
     public static BError createError(String message, LDAPException ldapException) {
         BError cause = Objects.isNull(ldapException) ? null : ErrorCreator.createError(ldapException);
-        BMap<BString, Object> errorDetails = getErrorDetails(Objects.requireNonNull(ldapException));
+        BMap<BString, Object> errorDetails = getErrorDetails(Objects.requireNonNull(ldapException).getResultCode());
         return ErrorCreator.createError(getModule(), ERROR_TYPE, fromString(message), cause, errorDetails);
     }
 
-    private static BMap<BString, Object> getErrorDetails(LDAPException ldapException) {
-        String resultCode = ldapException.getResultCode().getName().toUpperCase(Locale.ROOT);
-        return ValueCreator.createRecordValue(getModule(), ERROR_DETAILS, Map.of(RESULT_STATUS, resultCode));
+    /**
+     * Creates an error for an expected result code, such as an entry that does not exist. Unlike
+     * {@link #createError(String, LDAPException)}, no exception is created to be attached as the cause,
+     * which keeps the frequently taken failure paths cheap.
+     *
+     * @param message    the error message
+     * @param resultCode the result code of the operation
+     * @return the `ldap:Error` with the given result code
+     */
+    public static BError createError(String message, ResultCode resultCode) {
+        return ErrorCreator.createError(getModule(), ERROR_TYPE, fromString(message), null,
+                getErrorDetails(resultCode));
+    }
+
+    /**
+     * Returns the type of the `ldap:Error`.
+     *
+     * @return the `ldap:Error` type
+     */
+    public static Type getErrorType() {
+        if (Objects.isNull(errorType)) {
+            errorType = TypeUtils.getType(createError(ERROR_TYPE, (Throwable) null));
+        }
+        return errorType;
+    }
+
+    /**
+     * Returns the result code of an error created with a result code.
+     *
+     * @return the result code, or {@code null} if the error was not created with a result code
+     */
+    static ResultCode getResultCode(BError error) {
+        if (!(error.getDetails() instanceof BMap<?, ?> details)
+                || !(details.get(fromString(RESULT_STATUS)) instanceof BString resultCodeName)) {
+            return null;
+        }
+        for (ResultCode resultCode : ResultCode.values()) {
+            if (resultCode.getName().toUpperCase(Locale.ROOT).equals(resultCodeName.getValue())) {
+                return resultCode;
+            }
+        }
+        return null;
+    }
+
+    private static BMap<BString, Object> getErrorDetails(ResultCode resultCode) {
+        String resultCodeName = resultCode.getName().toUpperCase(Locale.ROOT);
+        return ValueCreator.createRecordValue(getModule(), ERROR_DETAILS, Map.of(RESULT_STATUS, resultCodeName));
+    }
+
+    /**
+     * Validates the page size of a paged search.
+     *
+     * @return an error if the page size is not positive or exceeds the maximum page size, or else {@code null}
+     */
+    static BError validatePageSize(long pageSize) {
+        if (pageSize <= 0 || pageSize > Integer.MAX_VALUE) {
+            return createError(String.format(INVALID_PAGE_SIZE_ERROR, Integer.MAX_VALUE, pageSize),
+                    ResultCode.PARAM_ERROR);
+        }
+        return null;
     }
 
     public static BMap<BString, Object> createSearchResultRecord(SearchResult searchResult,
@@ -176,6 +242,29 @@ public final class Utils {
         };
     }
 
+    /**
+     * Returns the attributes to be requested from the server. If no attributes are specified and the target type is
+     * a closed record, only the fields of the record are requested. Otherwise, all the user attributes are requested.
+     *
+     * @param attributes the attributes specified by the user
+     * @param targetType the type the entries are converted to
+     * @return the names of the attributes to be requested
+     */
+    public static String[] getAttributeNames(BArray attributes, Type targetType) {
+        if (!attributes.isEmpty()) {
+            return attributes.getStringArray();
+        }
+        Type type = TypeUtils.getImpliedType(targetType);
+        if (type.getTag() == TypeTags.RECORD_TYPE_TAG && ((RecordType) type).isSealed()) {
+            return ((RecordType) type).getFields().keySet().toArray(String[]::new);
+        }
+        return new String[]{};
+    }
+
+    public static long getTimeInMillis(Object time) {
+        return ((BDecimal) time).decimalValue().multiply(BigDecimal.valueOf(1000)).longValue();
+    }
+
     public static String convertObjectSidToString(byte[] objectSid) {
         int offset, size;
         if (objectSid[0] != 1) {